@@ -0,0 +1,38 @@
+package com.elksandro.seunegocio.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.TimedObjectStorage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumentation Spring Boot does not provide on its own. Endpoints, repository methods, the
+ * Hikari pool and Hibernate statistics are recorded by auto-configuration; see
+ * {@code management.*} in {@code application.yaml}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps whichever storage backend is active, so every consumer records
+     * {@code storage.requests} without knowing about it.
+     */
+    @Bean
+    static BeanPostProcessor timedObjectStorage(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${api.storage.backend}") String backend) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof ObjectStorage storage && !(bean instanceof TimedObjectStorage)
+                        ? new TimedObjectStorage(storage, backend, meterRegistry.getObject())
+                        : bean;
+            }
+        };
+    }
+}
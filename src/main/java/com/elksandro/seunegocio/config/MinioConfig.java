@@ -1,17 +1,26 @@
 package com.elksandro.seunegocio.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import io.minio.MinioClient;
 
 @Configuration
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "minio", matchIfMissing = true)
 public class MinioConfig {
     
     @Value("${minio.url}")
     private String minioUrl;
 
+    @Value("${minio.public-url}")
+    private String minioPublicUrl;
+
+    @Value("${minio.region}")
+    private String minioRegion;
+
     @Value("${minio.access-key}")
     private String minioAccessKey;
 
@@ -19,10 +28,24 @@ public class MinioConfig {
     private String minioSecretKey;
 
     @Bean
+    @Primary
     public MinioClient minioClient() {
         return MinioClient.builder()
             .endpoint(minioUrl)
             .credentials(minioAccessKey, minioSecretKey)
             .build();
     }
+
+    /**
+     * Signs URLs handed to clients. The signature covers the host, so it has to be built against
+     * the public endpoint; the fixed region keeps signing offline.
+     */
+    @Bean
+    public MinioClient presignMinioClient() {
+        return MinioClient.builder()
+            .endpoint(minioPublicUrl)
+            .region(minioRegion)
+            .credentials(minioAccessKey, minioSecretKey)
+            .build();
+    }
 }
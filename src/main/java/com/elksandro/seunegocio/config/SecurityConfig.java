@@ -1,5 +1,6 @@
 package com.elksandro.seunegocio.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,17 +14,23 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.elksandro.seunegocio.security.SecurityFilter;
+import com.elksandro.seunegocio.security.TimedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
+    private final int managementPort;
 
-    public SecurityConfig(SecurityFilter securityFilter) {
+    public SecurityConfig(SecurityFilter securityFilter, @Value("${management.server.port:-1}") int managementPort) {
         this.securityFilter = securityFilter;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -34,38 +41,55 @@ public class SecurityConfig {
                 })
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(request -> {
+                    request.requestMatchers(actuatorOnManagementPort()).permitAll();
                     request.requestMatchers("/", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll();
                     request.requestMatchers(HttpMethod.POST, "/v1/user/register").permitAll();
                     request.requestMatchers(HttpMethod.POST, "/v1/user/login").permitAll();
                     request.requestMatchers(HttpMethod.GET, "/v1/businesses/**").permitAll();
                     request.requestMatchers(HttpMethod.GET, "/v1/items/**").permitAll();
+                    request.requestMatchers(HttpMethod.GET, "/v1/search").permitAll();
+                    request.requestMatchers(HttpMethod.GET, "/media/**").permitAll();
 
                     request.requestMatchers(HttpMethod.GET, "/v1/user/me").authenticated();
                     request.requestMatchers(HttpMethod.PATCH, "/v1/user/**").authenticated();
+                    request.requestMatchers(HttpMethod.PUT, "/v1/user/picture").authenticated();
                     request.requestMatchers(HttpMethod.DELETE, "/v1/user/**").authenticated();
 
                     request.requestMatchers(HttpMethod.POST, "/v1/businesses").authenticated();
                     request.requestMatchers(HttpMethod.PATCH, "/v1/businesses/**").hasAuthority("ROLE_SELLER");
+                    request.requestMatchers(HttpMethod.PUT, "/v1/businesses/*/logo").hasAuthority("ROLE_SELLER");
                     request.requestMatchers(HttpMethod.DELETE, "/v1/businesses/**").hasAuthority("ROLE_SELLER");
 
                     request.requestMatchers(HttpMethod.POST, "/v1/items").hasAuthority("ROLE_SELLER");
                     request.requestMatchers(HttpMethod.PATCH, "/v1/items/**").hasAuthority("ROLE_SELLER");
+                    request.requestMatchers(HttpMethod.PUT, "/v1/items/*/image").hasAuthority("ROLE_SELLER");
                     request.requestMatchers(HttpMethod.DELETE, "/v1/items/**").hasAuthority("ROLE_SELLER");
 
                     request.requestMatchers("/v1/cart/**").authenticated();
+                    request.requestMatchers("/v1/uploads/**").authenticated();
                     request.anyRequest().authenticated();
                 })
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
+    /**
+     * Actuator is served on its own port, bound to an internal interface by
+     * {@code management.server.address}; only requests that arrive there skip authentication.
+     */
+    private RequestMatcher actuatorOnManagementPort() {
+        return request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && request.getRequestURI().startsWith("/actuator/");
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration auth) throws Exception {
         return auth.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 }
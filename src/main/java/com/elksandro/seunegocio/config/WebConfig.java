@@ -3,17 +3,33 @@ package com.elksandro.seunegocio.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.elksandro.seunegocio.security.TokenProvider;
+import com.elksandro.seunegocio.service.diagnostics.QueryBudgetInterceptor;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
+
+    public WebConfig(QueryBudgetInterceptor queryBudgetInterceptor) {
+        this.queryBudgetInterceptor = queryBudgetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor).addPathPatterns("/v1/**");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") 
                 .allowedOrigins("*") 
                 .allowedMethods("GET", "PUT", "DELETE", "POST", "PATCH") 
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders(TokenProvider.REFRESHED_TOKEN_HEADER);
     }
 }
@@ -2,6 +2,7 @@ package com.elksandro.seunegocio.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,20 +12,34 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.elksandro.seunegocio.dto.business.BusinessRequest;
 import com.elksandro.seunegocio.dto.business.BusinessResponse;
 import com.elksandro.seunegocio.dto.business.CategoryResponse;
-import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.dto.business.NearbyBusinessResponse;
+import com.elksandro.seunegocio.dto.item.ItemResponse;
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
 import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.Role;
+import com.elksandro.seunegocio.security.TokenProvider;
+import com.elksandro.seunegocio.security.UserPrincipal;
 import com.elksandro.seunegocio.service.BusinessService;
+import com.elksandro.seunegocio.service.ItemService;
+import com.elksandro.seunegocio.service.UserService;
+import com.elksandro.seunegocio.service.diagnostics.QueryBudget;
+import com.elksandro.seunegocio.service.etag.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -32,79 +47,168 @@ import jakarta.validation.Valid;
 public class BusinessController {
 
     private final BusinessService businessService;
+    private final ItemService itemService;
+    private final UserService userService;
 
-    public BusinessController(BusinessService businessService) {
+    public BusinessController(BusinessService businessService, ItemService itemService, UserService userService) {
         this.businessService = businessService;
+        this.itemService = itemService;
+        this.userService = userService;
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<BusinessResponse> createBusiness(
             @RequestPart("businessRequest") String businessRequestJson,
             @RequestPart("logo") MultipartFile logo,
-            @AuthenticationPrincipal User loggedUser) throws Exception {
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws Exception {
 
         ObjectMapper objectMapper = new ObjectMapper();
         BusinessRequest businessRequest = objectMapper.readValue(businessRequestJson, BusinessRequest.class);
 
-        BusinessResponse businessResponse = businessService.createBusiness(businessRequest, logo, loggedUser.getId());
+        BusinessResponse businessResponse = businessService.createBusiness(businessRequest, logo, loggedUser.id());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(businessResponse);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (loggedUser.role() == Role.BUYER) {
+            response.header(TokenProvider.REFRESHED_TOKEN_HEADER, userService.issueToken(loggedUser.id()).token());
+        }
+
+        return response.body(businessResponse);
     }
 
     @GetMapping(value = "/categories", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CategoryResponse>> findAllCategories() {
-        
+    public ResponseEntity<List<CategoryResponse>> findAllCategories(WebRequest request) {
+        String eTag = businessService.findAllCategoriesETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<CategoryResponse> categories = businessService.findAllCategories(); 
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().eTag(eTag).body(categories);
     }
 
+    @QueryBudget(2)
     @GetMapping(value = "/category/{categoryType}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BusinessResponse>> findBusinessesByCategory(
-            @PathVariable String categoryType) {
+    public ResponseEntity<CursorPageResponse<BusinessResponse>> findBusinessesByCategory(
+            @PathVariable String categoryType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
 
+        CategoryType type;
         try {
-            CategoryType type = CategoryType.valueOf(categoryType.toUpperCase());
-            List<BusinessResponse> businesses = businessService.findBusinessByCategory(type);
-            return ResponseEntity.ok(businesses);
+            type = CategoryType.valueOf(categoryType.toUpperCase());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
+
+        String eTag = businessService.findBusinessByCategoryETag(type, cursor, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CursorPageResponse<BusinessResponse> businesses = businessService.findBusinessByCategory(type, cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(businesses);
     }
 
+    @GetMapping(value = "/nearby", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<NearbyBusinessResponse>> findNearbyBusinesses(
+            @RequestParam("lat") Double latitude,
+            @RequestParam("lng") Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) CategoryType categoryType) {
+
+        List<NearbyBusinessResponse> businesses = businessService.findNearbyBusinesses(
+                latitude, longitude, radius, limit, categoryType);
+        return ResponseEntity.ok(businesses);
+    }
+
+    @QueryBudget(2)
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BusinessResponse> findBusinessById(@PathVariable Long id) {
-        BusinessResponse businessResponse = businessService.findBusinessById(id);
-        return ResponseEntity.ok(businessResponse);
+    public ResponseEntity<BusinessResponse> findBusinessById(@PathVariable Long id, WebRequest request) {
+        String eTag = businessService.findBusinessETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Tagged<BusinessResponse> business = businessService.findBusinessById(id, eTag);
+        return ResponseEntity.ok().eTag(business.eTag()).body(business.body());
     }
 
+    @QueryBudget(3)
+    @GetMapping(value = "/{id}/items", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponse<ItemResponse>> findBusinessItems(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+
+        String eTag = itemService.findItemsByBusinessETag(id, cursor, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CursorPageResponse<ItemResponse> items = itemService.findItemsByBusiness(id, cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(items);
+    }
+
+    @QueryBudget(4)
     @GetMapping(value = "/me", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BusinessResponse>> findMyBusinesses(
-            @AuthenticationPrincipal User loggedUser) {
+    public ResponseEntity<CursorPageResponse<BusinessResponse>> findMyBusinesses(
+            @AuthenticationPrincipal UserPrincipal loggedUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+
+        String eTag = businessService.findBusinessByOwnerETag(loggedUser.id(), cursor, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
 
-        List<BusinessResponse> businesses = businessService.findBusinessByOwner(loggedUser.getId());
-        return ResponseEntity.ok(businesses);
+        CursorPageResponse<BusinessResponse> businesses = businessService.findBusinessByOwner(
+                loggedUser.id(), cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(businesses);
     }
 
     @PatchMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<BusinessResponse> updateBusiness(
             @PathVariable Long id,
             @RequestBody @Valid BusinessRequest businessRequest,
-            @AuthenticationPrincipal User loggedUser) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
 
-        BusinessResponse updatedBusiness = businessService.updateBusiness(
+        Tagged<BusinessResponse> updatedBusiness = businessService.updateBusiness(
                 id,
                 businessRequest,
-                loggedUser.getId());
+                loggedUser.id(),
+                ifMatch);
 
-        return ResponseEntity.ok(updatedBusiness);
+        return ResponseEntity.ok().eTag(updatedBusiness.eTag()).body(updatedBusiness.body());
+    }
+
+    @PutMapping(value = "/{id}/logo", produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE,
+                    MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<BusinessResponse> replaceLogo(
+            @PathVariable Long id,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws Exception {
+
+        BusinessResponse businessResponse = businessService.replaceLogo(
+                id,
+                request.getInputStream(),
+                request.getContentLengthLong(),
+                loggedUser.id());
+
+        return ResponseEntity.ok(businessResponse);
     }
 
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> deleteBusiness(
             @PathVariable Long id,
-            @AuthenticationPrincipal User loggedUser) {
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
 
-        businessService.removeBusiness(id, loggedUser.getId());
+        businessService.removeBusiness(id, loggedUser.id());
 
         return ResponseEntity.noContent().build();
     }
@@ -11,14 +11,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.elksandro.seunegocio.dto.cartItem.CartItemRequest;
 import com.elksandro.seunegocio.dto.cartItem.CartItemResponse;
-import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.dto.cartItem.CartUpdateRequest;
+import com.elksandro.seunegocio.dto.cartItem.CheckoutSummaryResponse;
+import com.elksandro.seunegocio.security.UserPrincipal;
 import com.elksandro.seunegocio.service.CartItemService;
+import com.elksandro.seunegocio.service.diagnostics.QueryBudget;
 
 import jakarta.validation.Valid;
 
@@ -32,22 +36,43 @@ public class CartItemController {
         this.cartItemService = cartItemService;
     }
 
+    @QueryBudget(2)
     @GetMapping(value = "/me", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<CartItemResponse>> getCart(@AuthenticationPrincipal User loggedUser) {
+    public ResponseEntity<List<CartItemResponse>> getCart(@AuthenticationPrincipal UserPrincipal loggedUser) {
         
-        List<CartItemResponse> cartItems = cartItemService.getCartByUserId(loggedUser.getId());
+        List<CartItemResponse> cartItems = cartItemService.getCartByUserId(loggedUser.id());
         
         return ResponseEntity.ok(cartItems);
     }
 
+    @QueryBudget(3)
+    @GetMapping(value = "/me/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CheckoutSummaryResponse> getCheckoutSummary(
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
+
+        CheckoutSummaryResponse summary = cartItemService.getCheckoutSummary(loggedUser.id());
+
+        return ResponseEntity.ok(summary);
+    }
+
+    @PutMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CartItemResponse>> updateCart(
+            @RequestBody @Valid CartUpdateRequest cartUpdateRequest,
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
+
+        List<CartItemResponse> updatedCart = cartItemService.updateCart(loggedUser.id(), cartUpdateRequest);
+
+        return ResponseEntity.ok(updatedCart);
+    }
+
     @PostMapping(value = "/items", 
                  produces = MediaType.APPLICATION_JSON_VALUE,
                  consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<CartItemResponse>> addItemToCart(
             @RequestBody @Valid CartItemRequest cartItemRequest,
-            @AuthenticationPrincipal User loggedUser) {
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
 
-        List<CartItemResponse> updatedCart = cartItemService.addItemToCart(loggedUser.getId(), cartItemRequest);
+        List<CartItemResponse> updatedCart = cartItemService.addItemToCart(loggedUser.id(), cartItemRequest);
         
         return ResponseEntity.status(HttpStatus.CREATED).body(updatedCart);
     }
@@ -58,10 +83,10 @@ public class CartItemController {
     public ResponseEntity<List<CartItemResponse>> updateItemQuantity(
             @PathVariable Long itemId,
             @RequestBody @Valid CartItemRequest cartItemRequest,
-            @AuthenticationPrincipal User loggedUser) {
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
 
         List<CartItemResponse> updatedCart = cartItemService.updateQuantity(
-            loggedUser.getId(),
+            loggedUser.id(),
             itemId,
             cartItemRequest.quantity() 
         );
@@ -72,9 +97,9 @@ public class CartItemController {
     @DeleteMapping(value = "/items/{itemId}")
     public ResponseEntity<Void> removeItemFromCart(
             @PathVariable Long itemId,
-            @AuthenticationPrincipal User loggedUser) {
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
 
-        cartItemService.removeItemFromCart(loggedUser.getId(), itemId);
+        cartItemService.removeItemFromCart(loggedUser.id(), itemId);
         
         return ResponseEntity.noContent().build();
     }
@@ -1,7 +1,6 @@
 package com.elksandro.seunegocio.controller;
 
-import java.util.List;
-
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,18 +10,26 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.elksandro.seunegocio.dto.item.ItemRequest;
 import com.elksandro.seunegocio.dto.item.ItemResponse;
-import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
+import com.elksandro.seunegocio.security.UserPrincipal;
 import com.elksandro.seunegocio.service.ItemService;
+import com.elksandro.seunegocio.service.diagnostics.QueryBudget;
+import com.elksandro.seunegocio.service.etag.Tagged;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -40,28 +47,43 @@ public class ItemController {
     public ResponseEntity<ItemResponse> createItem(
             @RequestPart("itemRequest") String itemRequestJson,
             @RequestPart("image") MultipartFile image,
-            @AuthenticationPrincipal User loggedUser) 
+            @AuthenticationPrincipal UserPrincipal loggedUser) 
             throws Exception { 
         
         ObjectMapper objectMapper = new ObjectMapper();
         ItemRequest itemRequest = objectMapper.readValue(itemRequestJson, ItemRequest.class);
 
-        ItemResponse itemResponse = itemService.createItem(itemRequest, image, loggedUser.getId());
+        ItemResponse itemResponse = itemService.createItem(itemRequest, image, loggedUser.id());
         
         return ResponseEntity.status(HttpStatus.CREATED).body(itemResponse);
     }
 
+    @QueryBudget(2)
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ItemResponse>> findAllItems() {
-        List<ItemResponse> items = itemService.findAllItems();
-        return ResponseEntity.ok(items);
+    public ResponseEntity<CursorPageResponse<ItemResponse>> findAllItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        String eTag = itemService.findAllItemsETag(cursor, size);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CursorPageResponse<ItemResponse> items = itemService.findAllItems(cursor, size);
+        return ResponseEntity.ok().eTag(eTag).body(items);
     }
 
 
+    @QueryBudget(2)
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ItemResponse> findItemById(@PathVariable Long id) {
-        ItemResponse item = itemService.findItemById(id);
-        return ResponseEntity.ok(item);
+    public ResponseEntity<ItemResponse> findItemById(@PathVariable Long id, WebRequest request) {
+        String eTag = itemService.findItemETag(id);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        Tagged<ItemResponse> item = itemService.findItemById(id, eTag);
+        return ResponseEntity.ok().eTag(item.eTag()).body(item.body());
     }
     
     @PatchMapping(value = "/{id}", 
@@ -70,18 +92,33 @@ public class ItemController {
     public ResponseEntity<ItemResponse> updateItem(
         @PathVariable Long id,
         @RequestBody @Valid ItemRequest itemRequest,
-        @AuthenticationPrincipal User loggedUser
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @AuthenticationPrincipal UserPrincipal loggedUser
     ) {
-        ItemResponse updatedItem = itemService.updateItem(id, itemRequest, loggedUser.getId());
-        return ResponseEntity.ok(updatedItem);
+        Tagged<ItemResponse> updatedItem = itemService.updateItem(id, itemRequest, loggedUser.id(), ifMatch);
+        return ResponseEntity.ok().eTag(updatedItem.eTag()).body(updatedItem.body());
+    }
+    
+    @PutMapping(value = "/{id}/image",
+                produces = MediaType.APPLICATION_JSON_VALUE,
+                consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE,
+                            MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ItemResponse> replaceImage(
+        @PathVariable Long id,
+        HttpServletRequest request,
+        @AuthenticationPrincipal UserPrincipal loggedUser
+    ) throws Exception {
+        ItemResponse itemResponse = itemService.replaceImage(
+                id, request.getInputStream(), request.getContentLengthLong(), loggedUser.id());
+        return ResponseEntity.ok(itemResponse);
     }
     
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> deleteItem(
         @PathVariable Long id,
-        @AuthenticationPrincipal User loggedUser
+        @AuthenticationPrincipal UserPrincipal loggedUser
     ) {
-        itemService.deleteItem(id, loggedUser.getId());
+        itemService.deleteItem(id, loggedUser.id());
         return ResponseEntity.noContent().build();
     }
 }
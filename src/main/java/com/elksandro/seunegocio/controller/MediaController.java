@@ -0,0 +1,123 @@
+package com.elksandro.seunegocio.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.elksandro.seunegocio.service.media.MediaDeliveryService;
+import com.elksandro.seunegocio.service.media.MediaDeliveryService.MediaObject;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves stored media. Object names never change content, so responses are cacheable for a year
+ * and revalidation only needs the entity tag. Single byte ranges are honoured; requests for
+ * several ranges get the whole object. Files on local disk are handed to Tomcat's
+ * {@code sendfile}, so the bytes never pass through the JVM. Responses are always displayed
+ * inline under a policy that forbids loading or running anything.
+ */
+@RestController
+@RequestMapping("/media")
+public class MediaController {
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    private static final String CONTENT_SECURITY_POLICY = "default-src 'none'; sandbox";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MediaDeliveryService mediaDeliveryService;
+
+    public MediaController(MediaDeliveryService mediaDeliveryService) {
+        this.mediaDeliveryService = mediaDeliveryService;
+    }
+
+    @GetMapping("/**")
+    public void getMedia(HttpServletRequest request, HttpServletResponse response, WebRequest webRequest)
+            throws IOException {
+        String objectName = UrlPathHelper.defaultInstance.getPathWithinApplication(request)
+                .substring(ObjectStorage.MEDIA_PATH.length());
+
+        Optional<MediaObject> found = mediaDeliveryService.find(objectName);
+        if (found.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        MediaObject media = found.get();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline");
+        response.setHeader("Content-Security-Policy", CONTENT_SECURITY_POLICY);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (webRequest.checkNotModified(media.eTag())) {
+            return;
+        }
+
+        long start = 0;
+        long end = media.size() - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && media.size() > 0 && matchesIfRange(request.getHeader(HttpHeaders.IF_RANGE), media)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(media.size());
+                    end = ranges.get(0).getRangeEnd(media.size());
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE,
+                            "bytes " + start + "-" + end + "/" + media.size());
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + media.size());
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(media.contentType());
+        response.setContentLengthLong(length);
+        if (length == 0) {
+            return;
+        }
+
+        Optional<Path> file = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                ? mediaDeliveryService.localFile(media)
+                : Optional.empty();
+        if (file.isPresent()) {
+            request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        mediaDeliveryService.transferTo(media, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * A range is only served against the representation the client already holds part of.
+     */
+    private static boolean matchesIfRange(String ifRange, MediaObject media) {
+        return ifRange == null || ifRange.trim().equals(media.eTag());
+    }
+}
@@ -0,0 +1,38 @@
+package com.elksandro.seunegocio.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
+import com.elksandro.seunegocio.dto.search.SearchHitResponse;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.service.SearchService;
+
+@RestController
+@RequestMapping("/v1/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CursorPageResponse<SearchHitResponse>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) CategoryType categoryType,
+            @RequestParam(required = false) OfferType offerType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        CursorPageResponse<SearchHitResponse> results = searchService.search(
+                query, categoryType, offerType, cursor, size);
+        return ResponseEntity.ok(results);
+    }
+}
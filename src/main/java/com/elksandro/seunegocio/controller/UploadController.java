@@ -0,0 +1,52 @@
+package com.elksandro.seunegocio.controller;
+
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.elksandro.seunegocio.dto.media.UploadConfirmationResponse;
+import com.elksandro.seunegocio.dto.media.UploadTicketRequest;
+import com.elksandro.seunegocio.dto.media.UploadTicketResponse;
+import com.elksandro.seunegocio.security.UserPrincipal;
+import com.elksandro.seunegocio.service.DirectUploadService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/v1/uploads")
+public class UploadController {
+
+    private final DirectUploadService directUploadService;
+
+    public UploadController(DirectUploadService directUploadService) {
+        this.directUploadService = directUploadService;
+    }
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UploadTicketResponse> issueTicket(
+            @RequestBody @Valid UploadTicketRequest uploadTicketRequest,
+            @AuthenticationPrincipal UserPrincipal loggedUser) {
+
+        UploadTicketResponse ticket = directUploadService.issueTicket(uploadTicketRequest, loggedUser.id());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(ticket);
+    }
+
+    @PostMapping(value = "/{id}/confirm", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UploadConfirmationResponse> confirmUpload(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws Exception {
+
+        UploadConfirmationResponse confirmation = directUploadService.confirmUpload(id, loggedUser.id());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(confirmation);
+    }
+}
@@ -12,11 +12,12 @@ import com.elksandro.seunegocio.dto.user.UserLogin;
 import com.elksandro.seunegocio.dto.user.UserRequest;
 import com.elksandro.seunegocio.dto.user.UserResponse;
 import com.elksandro.seunegocio.dto.user.UserUpdate;
-import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.security.UserPrincipal;
 import com.elksandro.seunegocio.service.UserService;
 import com.elksandro.seunegocio.service.exception.UserNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -50,9 +51,9 @@ public class UserController {
     }
 
     @GetMapping(value = "/me", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserResponse> findUserAuthenticated(@AuthenticationPrincipal User user) {
+    public ResponseEntity<UserResponse> findUserAuthenticated(@AuthenticationPrincipal UserPrincipal user) {
 
-        UserResponse userResponse = userService.findUserById(user.getId());
+        UserResponse userResponse = userService.findUserById(user.id());
 
         return ResponseEntity.ok(userResponse);
     }
@@ -61,9 +62,9 @@ public class UserController {
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
             @RequestBody @Valid UserUpdate userUpdate,
-            @AuthenticationPrincipal User loggedUser) throws UserNotFoundException {
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws UserNotFoundException {
 
-        if (!loggedUser.getId().equals(id)) {
+        if (!loggedUser.id().equals(id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
@@ -75,19 +76,32 @@ public class UserController {
     @PatchMapping(value = "picture", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<UserResponse> updateProfilePicture(
             @RequestPart("image") MultipartFile image,
-            @AuthenticationPrincipal User loggedUser) throws Exception {
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws Exception {
         
-        UserResponse userResponse = userService.updateProfilePicture(loggedUser.getId(), image);
+        UserResponse userResponse = userService.updateProfilePicture(loggedUser.id(), image);
         
         return ResponseEntity.ok(userResponse);
     }
 
+    @PutMapping(value = "picture", produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE,
+                    MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<UserResponse> replaceProfilePicture(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws Exception {
+
+        UserResponse userResponse = userService.replaceProfilePicture(
+                loggedUser.id(), request.getInputStream(), request.getContentLengthLong());
+
+        return ResponseEntity.ok(userResponse);
+    }
+
     @DeleteMapping(value = "/{id}")
     public ResponseEntity<Void> removeUser(
             @PathVariable Long id,
-            @AuthenticationPrincipal User loggedUser) throws UserNotFoundException {
+            @AuthenticationPrincipal UserPrincipal loggedUser) throws UserNotFoundException {
 
-        if (!loggedUser.getId().equals(id)) {
+        if (!loggedUser.id().equals(id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
@@ -4,6 +4,7 @@ import java.time.Instant;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,7 +14,11 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.elksandro.seunegocio.service.exception.BusinessAlreadyExistsException;
 import com.elksandro.seunegocio.service.exception.BusinessNotFoundException;
 import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
+import com.elksandro.seunegocio.service.exception.MediaTooLargeException;
+import com.elksandro.seunegocio.service.exception.PreconditionFailedException;
+import com.elksandro.seunegocio.service.exception.QueryBudgetExceededException;
 import com.elksandro.seunegocio.service.exception.UnauthorizedException;
+import com.elksandro.seunegocio.service.exception.UploadNotFoundException;
 import com.elksandro.seunegocio.service.exception.UserAlreadyExistsException;
 import com.elksandro.seunegocio.service.exception.UserNotFoundException;
 
@@ -60,7 +65,8 @@ public class ErrorExceptionHandler {
         return createErrorResponseEntity(HttpStatus.BAD_REQUEST, "Argumento inválido: " + e.getMessage(), request.getRequestURI());
     }
 
-    @ExceptionHandler({UserNotFoundException.class, BusinessNotFoundException.class, ItemNotFoundException.class})
+    @ExceptionHandler({UserNotFoundException.class, BusinessNotFoundException.class, ItemNotFoundException.class,
+            UploadNotFoundException.class})
     public ResponseEntity<ErrorResponse> resourceNotFoundErro(RuntimeException e, HttpServletRequest request) {
         return createErrorResponseEntity(HttpStatus.NOT_FOUND, e.getMessage(), request.getRequestURI());
     }
@@ -75,6 +81,33 @@ public class ErrorExceptionHandler {
         return createErrorResponseEntity(HttpStatus.FORBIDDEN, e.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> preconditionFailed(PreconditionFailedException e, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.PRECONDITION_FAILED, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(MediaTooLargeException.class)
+    public ResponseEntity<ErrorResponse> mediaTooLarge(MediaTooLargeException e, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.PAYLOAD_TOO_LARGE, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(QueryBudgetExceededException.class)
+    public ResponseEntity<ErrorResponse> queryBudgetExceeded(QueryBudgetExceededException e, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> unsupportedOperation(UnsupportedOperationException e, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.NOT_IMPLEMENTED, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> optimisticLockingFailure(ObjectOptimisticLockingFailureException e, HttpServletRequest request) {
+        return createErrorResponseEntity(HttpStatus.CONFLICT,
+                "O registro foi alterado por outra requisição. Recarregue os dados e tente novamente.",
+                request.getRequestURI());
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> dataIntegrityViolation(DataIntegrityViolationException e, HttpServletRequest request){
         HttpStatus status = HttpStatus.CONFLICT; 
@@ -2,6 +2,8 @@ package com.elksandro.seunegocio.dto.business;
 
 import com.elksandro.seunegocio.model.enums.CategoryType;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -16,6 +18,14 @@ public record BusinessRequest(
 
     String address,
 
+    @DecimalMin(value = "-90.0", message = "A latitude deve estar entre -90 e 90.")
+    @DecimalMax(value = "90.0", message = "A latitude deve estar entre -90 e 90.")
+    Double latitude,
+
+    @DecimalMin(value = "-180.0", message = "A longitude deve estar entre -180 e 180.")
+    @DecimalMax(value = "180.0", message = "A longitude deve estar entre -180 e 180.")
+    Double longitude,
+
     @NotNull(message = "A categoria é obrigatória.")
     CategoryType categoryType
 ) {}
\ No newline at end of file
@@ -1,18 +1,20 @@
 package com.elksandro.seunegocio.dto.business;
 
-import java.util.List;
-
-import com.elksandro.seunegocio.dto.item.ItemResponse;
+import com.elksandro.seunegocio.dto.media.ImageVariantsResponse;
 import com.elksandro.seunegocio.dto.user.UserSummaryResponse;
+import com.elksandro.seunegocio.model.enums.MediaState;
 
 public record BusinessResponse(
     Long id,
     String name,
     String description,
     String address,
+    Double latitude,
+    Double longitude,
     String categoryType,
     String categoryDisplayName,
     String logoUrl,
-    UserSummaryResponse owner, 
-    List<ItemResponse> items
+    ImageVariantsResponse logoVariants,
+    MediaState logoState,
+    UserSummaryResponse owner
 ) {}
\ No newline at end of file
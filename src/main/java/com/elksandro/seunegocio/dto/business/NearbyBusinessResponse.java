@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.business;
+
+public record NearbyBusinessResponse(
+    Long id,
+    String name,
+    String address,
+    String categoryType,
+    String logoUrl,
+    String ownerWhatsapp,
+    Double latitude,
+    Double longitude,
+    Long distanceMeters
+) {}
@@ -1,10 +1,12 @@
 package com.elksandro.seunegocio.dto.cartItem;
 
+import java.math.BigDecimal;
+
 import com.elksandro.seunegocio.dto.item.ItemSummaryResponse;
 
 public record CartItemResponse(
     Long id,
     Integer quantity,   
-    Double subtotal,   
+    BigDecimal subtotal,
     ItemSummaryResponse item
 ) {}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.cartItem;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record CartLineRequest(
+    @NotNull(message = "O ID do item é obrigatório.")
+    Long itemId,
+
+    @NotNull(message = "A quantidade é obrigatória.")
+    @Min(value = 0, message = "A quantidade não pode ser negativa.")
+    Integer quantity
+) {}
@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.cartItem;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record CartUpdateRequest(
+    @NotNull(message = "A lista de itens é obrigatória.")
+    @Size(max = 100, message = "No máximo 100 itens por atualização.")
+    List<@Valid CartLineRequest> items
+) {}
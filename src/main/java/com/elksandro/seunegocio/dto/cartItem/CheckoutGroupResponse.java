@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.cartItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CheckoutGroupResponse(
+    Long businessId,
+    String businessName,
+    String whatsapp,
+    Long itemCount,
+    BigDecimal subtotal,
+    List<CartItemResponse> items
+) {}
@@ -0,0 +1,10 @@
+package com.elksandro.seunegocio.dto.cartItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CheckoutSummaryResponse(
+    List<CheckoutGroupResponse> groups,
+    Long itemCount,
+    BigDecimal total
+) {}
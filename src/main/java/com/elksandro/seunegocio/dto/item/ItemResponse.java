@@ -1,6 +1,8 @@
 package com.elksandro.seunegocio.dto.item;
 
 import com.elksandro.seunegocio.dto.business.BusinessSummaryResponse;
+import com.elksandro.seunegocio.dto.media.ImageVariantsResponse;
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.model.enums.OfferType;
 
 public record ItemResponse(
@@ -10,5 +12,7 @@ public record ItemResponse(
     Double price,
     OfferType offerType,
     String imageUrl,
+    ImageVariantsResponse imageVariants,
+    MediaState imageState,
     BusinessSummaryResponse business
 ) {}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.elksandro.seunegocio.dto.item;
 
+import com.elksandro.seunegocio.dto.media.ImageVariantsResponse;
 import com.elksandro.seunegocio.model.enums.OfferType;
 
 public record ItemSummaryResponse(
@@ -7,6 +8,7 @@ public record ItemSummaryResponse(
     String name,
     Double price,
     String imageUrl,
+    ImageVariantsResponse imageVariants,
     OfferType offerType,
     String businessName
 ) {}
\ No newline at end of file
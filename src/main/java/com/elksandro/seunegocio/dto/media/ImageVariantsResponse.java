@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.dto.media;
+
+public record ImageVariantsResponse(
+    String thumbnail,
+    String card,
+    String full
+) {}
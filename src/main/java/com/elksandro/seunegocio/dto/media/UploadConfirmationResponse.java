@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.media;
+
+import java.util.UUID;
+
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.model.enums.MediaState;
+
+public record UploadConfirmationResponse(
+    UUID uploadId,
+    MediaSlot slot,
+    Long targetId,
+    MediaState state
+) {}
@@ -0,0 +1,21 @@
+package com.elksandro.seunegocio.dto.media;
+
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record UploadTicketRequest(
+    @NotNull(message = "O destino da imagem é obrigatório.")
+    MediaSlot slot,
+
+    Long targetId,
+
+    @NotBlank(message = "O tipo de conteúdo é obrigatório.")
+    String contentType,
+
+    @NotNull(message = "O tamanho do arquivo é obrigatório.")
+    @Positive(message = "O tamanho do arquivo deve ser positivo.")
+    Long size
+) {}
@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.dto.media;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+public record UploadTicketResponse(
+    UUID uploadId,
+    String url,
+    String method,
+    Map<String, String> fields,
+    Instant expiresAt
+) {}
@@ -0,0 +1,8 @@
+package com.elksandro.seunegocio.dto.page;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+    List<T> content,
+    String next
+) {}
@@ -0,0 +1,14 @@
+package com.elksandro.seunegocio.dto.search;
+
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record SearchHitResponse(
+    String type,
+    Long id,
+    String name,
+    Double price,
+    OfferType offerType,
+    String categoryType,
+    Long businessId,
+    String businessName
+) {}
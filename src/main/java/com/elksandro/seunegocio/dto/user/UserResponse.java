@@ -1,10 +1,15 @@
 package com.elksandro.seunegocio.dto.user;
 
+import com.elksandro.seunegocio.dto.media.ImageVariantsResponse;
+import com.elksandro.seunegocio.model.enums.MediaState;
+
 public record UserResponse(
     Long id,
     String name,
     String email,
     String whatsapp,
     String profilePictureUrl,
+    ImageVariantsResponse profilePictureVariants,
+    MediaState profilePictureState,
     String role
 ) {}
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.elksandro.seunegocio.model;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.MediaState;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -11,7 +16,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "businesses")
+@NamedEntityGraph(name = "Business.owner", attributeNodes = @NamedAttributeNode("owner"))
+@Table(name = "businesses", indexes = {
+    @Index(name = "idx_businesses_category_type_id", columnList = "category_type, id"),
+    @Index(name = "idx_businesses_owner_id_id", columnList = "owner_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,9 +38,19 @@ public class Business {
 
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     private String logoKey;
 
-    @ManyToOne
+    private String pendingLogoKey;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'READY'")
+    private MediaState logoState;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
 
@@ -41,4 +60,12 @@ public class Business {
 
     @OneToMany(mappedBy = "business", cascade = CascadeType.REMOVE)
     private List<Item> items = new ArrayList<>();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -1,5 +1,11 @@
 package com.elksandro.seunegocio.model;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.model.enums.OfferType;
 
 import jakarta.persistence.*;
@@ -8,7 +14,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "items")
+@NamedEntityGraph(name = "Item.businessAndOwner",
+    attributeNodes = @NamedAttributeNode(value = "business", subgraph = "business"),
+    subgraphs = @NamedSubgraph(name = "business", attributeNodes = @NamedAttributeNode("owner")))
+@Table(name = "items", indexes = {
+    @Index(name = "idx_items_business_id_id", columnList = "business_id, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,9 +41,23 @@ public class Item {
     @Column(name = "offer_type", nullable = false)
     private OfferType offerType;
 
-    @ManyToOne 
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "business_id", nullable = false)
     private Business business;
 
     private String imageKey;
+
+    private String pendingImageKey;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'READY'")
+    private MediaState imageState;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
 }
@@ -0,0 +1,51 @@
+package com.elksandro.seunegocio.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A presigned upload handed to a client and not yet confirmed. The row is the only record of
+ * the object the client may write, so it is deleted when the upload is confirmed or expires.
+ */
+@Entity
+@Table(name = "pending_uploads", indexes = {
+    @Index(name = "idx_pending_upload_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "object_name", nullable = false, unique = true)
+    private String objectName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private MediaSlot slot;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "content_type", nullable = false, length = 32)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
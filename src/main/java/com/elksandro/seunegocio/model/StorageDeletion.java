@@ -0,0 +1,40 @@
+package com.elksandro.seunegocio.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An object waiting to be removed from storage. Rows are written in the same transaction as the
+ * database change that stopped referencing the object, and drained by the deletion worker.
+ */
+@Entity
+@Table(name = "storage_deletions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_name", nullable = false)
+    private String objectName;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public StorageDeletion(String objectName) {
+        this.objectName = objectName;
+    }
+}
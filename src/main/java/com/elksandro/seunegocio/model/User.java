@@ -1,13 +1,17 @@
 package com.elksandro.seunegocio.model;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.model.enums.Role;
 
 import jakarta.persistence.CascadeType;
@@ -20,6 +24,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -48,6 +53,12 @@ public class User implements UserDetails {
 
     private String profilePictureKey;
 
+    private String pendingProfilePictureKey;
+
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'READY'")
+    private MediaState profilePictureState;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.REMOVE)
     private List<CartItem> cartItems = new ArrayList<>();
 
@@ -58,6 +69,22 @@ public class User implements UserDetails {
     @OneToMany(mappedBy = "owner", cascade = CascadeType.REMOVE)
     private List<Business> businesses = new ArrayList<>();
 
+    @ColumnDefault("0")
+    @Column(name = "security_epoch", nullable = false)
+    private long securityEpoch;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    public long advanceSecurityEpoch() {
+        return ++securityEpoch;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
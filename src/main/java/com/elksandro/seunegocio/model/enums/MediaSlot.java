@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.model.enums;
+
+public enum MediaSlot {
+    BUSINESS_LOGO,
+    ITEM_IMAGE,
+    USER_PROFILE_PICTURE
+}
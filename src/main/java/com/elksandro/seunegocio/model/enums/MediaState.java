@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.model.enums;
+
+public enum MediaState {
+    PENDING,
+    READY,
+    FAILED
+}
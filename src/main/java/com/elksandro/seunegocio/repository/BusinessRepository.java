@@ -1,19 +1,117 @@
 package com.elksandro.seunegocio.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.elksandro.seunegocio.model.Business;
-import com.elksandro.seunegocio.model.User;
 import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.repository.projection.BusinessLocationView;
+import com.elksandro.seunegocio.repository.projection.BusinessSearchView;
+import com.elksandro.seunegocio.repository.projection.BusinessSummaryView;
+import com.elksandro.seunegocio.repository.projection.BusinessVersionView;
+import com.elksandro.seunegocio.repository.projection.BusinessView;
+import com.elksandro.seunegocio.repository.projection.PendingMediaView;
 
 
 public interface BusinessRepository extends JpaRepository<Business, Long> {
+
+    String BUSINESS_VIEW = "select new com.elksandro.seunegocio.repository.projection.BusinessView("
+            + "b.id, b.name, b.description, b.address, b.latitude, b.longitude, b.categoryType, b.logoKey, b.logoState, "
+            + "o.id, o.name, o.whatsapp, o.profilePictureKey, o.role, b.version, o.version) "
+            + "from Business b join b.owner o ";
+
+    String BUSINESS_VERSION_VIEW = "select new com.elksandro.seunegocio.repository.projection.BusinessVersionView("
+            + "b.id, b.version, o.version) "
+            + "from Business b join b.owner o ";
+
     Optional<Business> findByOwnerId(Long ownerId);
-    List<Business> findByOwner(User owner);
+
+    @EntityGraph("Business.owner")
     Optional<Business> findByIdAndOwnerId(Long businessId, Long ownerId);
-    List<Business> findByCategoryType(CategoryType categoryType);
+
     Optional<Business> findByName(String name);
+
+    @Query(BUSINESS_VERSION_VIEW + "where b.id = :id")
+    Optional<BusinessVersionView> findVersionById(@Param("id") Long id);
+
+    @Query(BUSINESS_VERSION_VIEW + "where o.id = :ownerId and b.id > :afterId order by b.id")
+    List<BusinessVersionView> findVersionsByOwnerId(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query(BUSINESS_VERSION_VIEW + "where b.categoryType = :categoryType and b.id > :afterId order by b.id")
+    List<BusinessVersionView> findVersionsByCategoryType(@Param("categoryType") CategoryType categoryType,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select b.id from Business b where b.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query(BUSINESS_VIEW + "where b.id = :id")
+    Optional<BusinessView> findViewById(@Param("id") Long id);
+
+    @Query(BUSINESS_VIEW + "where o.id = :ownerId and b.id > :afterId order by b.id")
+    List<BusinessView> findViewsByOwnerId(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query(BUSINESS_VIEW + "where b.categoryType = :categoryType and b.id > :afterId order by b.id")
+    List<BusinessView> findViewsByCategoryType(@Param("categoryType") CategoryType categoryType,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select coalesce(max(b.id), 0) from Business b")
+    long findMaxId();
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.BusinessSearchView("
+            + "b.id, b.name, b.description, b.categoryType) "
+            + "from Business b where b.id > :afterId and b.id <= :untilId")
+    List<BusinessSearchView> findSearchViewsInRange(@Param("afterId") Long afterId, @Param("untilId") Long untilId);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.BusinessLocationView("
+            + "b.id, b.latitude, b.longitude, b.categoryType) "
+            + "from Business b where b.latitude is not null and b.longitude is not null")
+    List<BusinessLocationView> findLocations();
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.BusinessSummaryView("
+            + "b.id, b.name, b.address, b.categoryType, b.logoKey, o.whatsapp) "
+            + "from Business b join b.owner o where b.id in :ids")
+    List<BusinessSummaryView> findSummaryViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.logoKey from Business b where b.id = :id")
+    String findLogoKeyById(@Param("id") Long id);
+
+    @Query("select b.logoKey from Business b where b.owner.id = :ownerId and b.logoKey is not null")
+    List<String> findLogoKeysByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select b.logoKey from Business b where b.logoKey in :keys "
+            + "union select b.pendingLogoKey from Business b where b.pendingLogoKey in :keys")
+    List<String> findReferencedLogoKeys(@Param("keys") Collection<String> keys);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.PendingMediaView(b.id, b.pendingLogoKey) "
+            + "from Business b where b.logoState = com.elksandro.seunegocio.model.enums.MediaState.PENDING "
+            + "and b.updatedAt < :before order by b.id")
+    List<PendingMediaView> findStalePendingLogos(@Param("before") Instant before, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update Business b set b.logoKey = :key, b.pendingLogoKey = null, "
+            + "b.logoState = com.elksandro.seunegocio.model.enums.MediaState.READY, "
+            + "b.version = b.version + 1, b.updatedAt = instant "
+            + "where b.id = :id and b.pendingLogoKey = :key")
+    int completeLogoUpload(@Param("id") Long id, @Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("update Business b set b.pendingLogoKey = null, "
+            + "b.logoState = com.elksandro.seunegocio.model.enums.MediaState.FAILED, "
+            + "b.version = b.version + 1, b.updatedAt = instant "
+            + "where b.id = :id and b.pendingLogoKey = :key")
+    int failLogoUpload(@Param("id") Long id, @Param("key") String key);
 }
@@ -0,0 +1,106 @@
+package com.elksandro.seunegocio.repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elksandro.seunegocio.repository.projection.CartQuantityView;
+
+/**
+ * Cart writes issued through JDBC as single statements, so they never read a line, change it in
+ * memory and write it back: concurrent requests for the same line serialize on the row lock the
+ * statement takes instead of racing on the unique constraint or losing updates.
+ */
+@Repository
+public class CartItemBatchRepository {
+
+    private static final String UPSERT_QUANTITY = "insert into cart_items (user_id, item_id, quantity) values (?, ?, ?) "
+            + "on conflict (user_id, item_id) do update set quantity = excluded.quantity";
+
+    private static final String ADD_QUANTITY = "insert into cart_items (user_id, item_id, quantity) values (?, ?, ?) "
+            + "on conflict (user_id, item_id) do update set quantity = cart_items.quantity + excluded.quantity "
+            + "returning quantity";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CartItemBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds {@code delta} to the line, creating it if needed, and removes it in the same transaction
+     * when the result is not positive. Returns the resulting quantity.
+     */
+    @Transactional
+    public int addQuantity(Long userId, Long itemId, int delta) {
+        Integer quantity = jdbcTemplate.queryForObject(ADD_QUANTITY, Integer.class, userId, itemId, delta);
+        if (quantity == null || quantity <= 0) {
+            jdbcTemplate.update("delete from cart_items where user_id = ? and item_id = ? and quantity <= 0",
+                    userId, itemId);
+            return 0;
+        }
+        return quantity;
+    }
+
+    public int setQuantity(Long userId, Long itemId, int quantity) {
+        return jdbcTemplate.update("update cart_items set quantity = ? where user_id = ? and item_id = ?",
+                quantity, userId, itemId);
+    }
+
+    public void upsertQuantities(Long userId, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_QUANTITY, new ArrayList<>(quantities.entrySet()), quantities.size(),
+                (statement, line) -> {
+                    statement.setLong(1, userId);
+                    statement.setLong(2, line.getKey());
+                    statement.setInt(3, line.getValue());
+                });
+    }
+
+    public int deleteItems(Long userId, Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return 0;
+        }
+
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("delete from cart_items where user_id = ? and item_id = any(?)");
+            statement.setLong(1, userId);
+            statement.setArray(2, connection.createArrayOf("bigint", itemIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Writes the quantities of lines spanning any number of carts in two JDBC batches: a quantity
+     * of zero deletes the line, anything else upserts it.
+     */
+    @Transactional
+    public void applyQuantities(List<CartQuantityView> lines) {
+        List<CartQuantityView> upserts = lines.stream().filter(line -> line.quantity() > 0).toList();
+        List<CartQuantityView> deletes = lines.stream().filter(line -> line.quantity() <= 0).toList();
+
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("delete from cart_items where user_id = ? and item_id = ?", deletes,
+                    deletes.size(), (statement, line) -> {
+                        statement.setLong(1, line.userId());
+                        statement.setLong(2, line.itemId());
+                    });
+        }
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_QUANTITY, upserts, upserts.size(), (statement, line) -> {
+                statement.setLong(1, line.userId());
+                statement.setLong(2, line.itemId());
+                statement.setInt(3, line.quantity());
+            });
+        }
+    }
+}
@@ -4,10 +4,34 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.elksandro.seunegocio.model.CartItem;
+import com.elksandro.seunegocio.repository.projection.CartLineView;
+import com.elksandro.seunegocio.repository.projection.CartQuantityView;
+import com.elksandro.seunegocio.repository.projection.CheckoutGroupView;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     Optional<CartItem> findByUserIdAndItemId(Long userId, Long itemId);
-    List<CartItem> findByUserId(Long userId);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.CartLineView("
+            + "c.id, c.quantity, i.id, i.name, i.price, i.imageKey, i.offerType, b.id, b.name) "
+            + "from CartItem c join c.item i join i.business b "
+            + "where c.user.id = :userId order by c.id")
+    List<CartLineView> findCartLinesByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.CartQuantityView("
+            + "c.user.id, c.item.id, c.quantity) from CartItem c where c.user.id = :userId")
+    List<CartQuantityView> findQuantitiesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Totals the cart per business in the database. Prices are cast to a decimal and rounded to
+     * cents before multiplying, so subtotals are exact rather than sums of {@code double} products.
+     */
+    @Query("select new com.elksandro.seunegocio.repository.projection.CheckoutGroupView("
+            + "b.id, b.name, o.whatsapp, sum(c.quantity), sum(round(cast(i.price as BigDecimal), 2) * c.quantity)) "
+            + "from CartItem c join c.item i join i.business b join b.owner o "
+            + "where c.user.id = :userId group by b.id, b.name, o.whatsapp order by b.name")
+    List<CheckoutGroupView> summarizeByBusiness(@Param("userId") Long userId);
 }
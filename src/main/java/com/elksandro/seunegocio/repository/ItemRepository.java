@@ -1,8 +1,119 @@
 package com.elksandro.seunegocio.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.repository.projection.ItemSearchView;
+import com.elksandro.seunegocio.repository.projection.ItemSummaryView;
+import com.elksandro.seunegocio.repository.projection.ItemVersionView;
+import com.elksandro.seunegocio.repository.projection.ItemView;
+import com.elksandro.seunegocio.repository.projection.PendingMediaView;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-}
\ No newline at end of file
+    String ITEM_VIEW = "select new com.elksandro.seunegocio.repository.projection.ItemView("
+            + "i.id, i.name, i.description, i.price, i.offerType, i.imageKey, i.imageState, "
+            + "b.id, b.name, b.address, b.categoryType, b.logoKey, o.whatsapp, i.version, b.version, o.version) "
+            + "from Item i join i.business b join b.owner o ";
+
+    String ITEM_VERSION_VIEW = "select new com.elksandro.seunegocio.repository.projection.ItemVersionView("
+            + "i.id, i.version, b.version, o.version) "
+            + "from Item i join i.business b join b.owner o ";
+
+    String ITEM_SEARCH_VIEW = "select new com.elksandro.seunegocio.repository.projection.ItemSearchView("
+            + "i.id, i.name, i.description, i.price, i.offerType, b.id, b.name, b.categoryType) "
+            + "from Item i join i.business b ";
+
+    @EntityGraph("Item.businessAndOwner")
+    Optional<Item> findDetailedById(Long id);
+
+    @Query(ITEM_VIEW + "where i.id = :id")
+    Optional<ItemView> findViewById(@Param("id") Long id);
+
+    @Query(ITEM_VIEW + "where i.id > :afterId order by i.id")
+    List<ItemView> findViews(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(ITEM_VIEW + "where b.id = :businessId and i.id > :afterId order by i.id")
+    List<ItemView> findViewsByBusinessId(@Param("businessId") Long businessId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query(ITEM_VERSION_VIEW + "where i.id = :id")
+    Optional<ItemVersionView> findVersionById(@Param("id") Long id);
+
+    @Query(ITEM_VERSION_VIEW + "where i.id > :afterId order by i.id")
+    List<ItemVersionView> findVersions(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(ITEM_VERSION_VIEW + "where b.id = :businessId and i.id > :afterId order by i.id")
+    List<ItemVersionView> findVersionsByBusinessId(@Param("businessId") Long businessId,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select coalesce(max(i.id), 0) from Item i")
+    long findMaxId();
+
+    @Query(ITEM_SEARCH_VIEW + "where i.id > :afterId and i.id <= :untilId")
+    List<ItemSearchView> findSearchViewsInRange(@Param("afterId") Long afterId, @Param("untilId") Long untilId);
+
+    @Query(ITEM_SEARCH_VIEW + "where b.id = :businessId")
+    List<ItemSearchView> findSearchViewsByBusinessId(@Param("businessId") Long businessId);
+
+    @Query("select i.imageKey from Item i where i.id = :id")
+    String findImageKeyById(@Param("id") Long id);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.ItemSummaryView("
+            + "i.id, i.name, i.price, i.imageKey, i.offerType, b.id, b.name) "
+            + "from Item i join i.business b where i.id in :ids")
+    List<ItemSummaryView> findSummaryViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.id from Item i where i.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select i.imageKey from Item i where i.business.id = :businessId and i.imageKey is not null")
+    List<String> findImageKeysByBusinessId(@Param("businessId") Long businessId);
+
+    @Query("select i.imageKey from Item i where i.business.owner.id = :ownerId and i.imageKey is not null")
+    List<String> findImageKeysByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select i.imageKey from Item i where i.imageKey in :keys "
+            + "union select i.pendingImageKey from Item i where i.pendingImageKey in :keys")
+    List<String> findReferencedImageKeys(@Param("keys") Collection<String> keys);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.PendingMediaView(i.id, i.pendingImageKey) "
+            + "from Item i where i.imageState = com.elksandro.seunegocio.model.enums.MediaState.PENDING "
+            + "and i.updatedAt < :before order by i.id")
+    List<PendingMediaView> findStalePendingImages(@Param("before") Instant before, Pageable pageable);
+
+    /**
+     * Removes every item of a business in one statement, instead of the delete per item the
+     * {@code Business.items} cascade issues.
+     */
+    @Modifying
+    @Query("delete from Item i where i.business.id = :businessId")
+    int deleteByBusinessId(@Param("businessId") Long businessId);
+
+    @Modifying
+    @Transactional
+    @Query("update Item i set i.imageKey = :key, i.pendingImageKey = null, "
+            + "i.imageState = com.elksandro.seunegocio.model.enums.MediaState.READY, "
+            + "i.version = i.version + 1, i.updatedAt = instant "
+            + "where i.id = :id and i.pendingImageKey = :key")
+    int completeImageUpload(@Param("id") Long id, @Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("update Item i set i.pendingImageKey = null, "
+            + "i.imageState = com.elksandro.seunegocio.model.enums.MediaState.FAILED, "
+            + "i.version = i.version + 1, i.updatedAt = instant "
+            + "where i.id = :id and i.pendingImageKey = :key")
+    int failImageUpload(@Param("id") Long id, @Param("key") String key);
+}
@@ -0,0 +1,32 @@
+package com.elksandro.seunegocio.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elksandro.seunegocio.model.PendingUpload;
+
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, UUID> {
+
+    Optional<PendingUpload> findByIdAndUserId(UUID id, Long userId);
+
+    @Query("select p from PendingUpload p where p.expiresAt < :now order by p.expiresAt")
+    List<PendingUpload> findExpired(@Param("now") Instant now, Pageable pageable);
+
+    /**
+     * Deletes the row and reports whether this caller was the one that removed it, so a confirm
+     * and the expiry job (or two confirms) never both act on the same upload.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from PendingUpload p where p.id = :id")
+    int claim(@Param("id") UUID id);
+}
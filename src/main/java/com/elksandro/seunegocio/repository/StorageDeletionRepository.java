@@ -0,0 +1,26 @@
+package com.elksandro.seunegocio.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.elksandro.seunegocio.model.StorageDeletion;
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    /**
+     * Locks the next batch for the current transaction; rows locked by another instance are
+     * skipped rather than waited on. Rows that keep failing sink behind fresh ones.
+     */
+    @Query(value = "select * from storage_deletions order by attempts, id limit :limit for update skip locked",
+            nativeQuery = true)
+    List<StorageDeletion> lockBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update StorageDeletion d set d.attempts = d.attempts + 1 where d.id in :ids")
+    int incrementAttempts(@Param("ids") Collection<Long> ids);
+}
@@ -1,11 +1,51 @@
 package com.elksandro.seunegocio.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.repository.projection.PendingMediaView;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    @Query("select u.securityEpoch from User u where u.id = :id")
+    Optional<Long> findSecurityEpochById(@Param("id") Long id);
+
+    @Query("select u.profilePictureKey from User u where u.id = :id")
+    String findProfilePictureKeyById(@Param("id") Long id);
+
+    @Query("select u.profilePictureKey from User u where u.profilePictureKey in :keys "
+            + "union select u.pendingProfilePictureKey from User u where u.pendingProfilePictureKey in :keys")
+    List<String> findReferencedProfilePictureKeys(@Param("keys") Collection<String> keys);
+
+    @Query("select new com.elksandro.seunegocio.repository.projection.PendingMediaView(u.id, u.pendingProfilePictureKey) "
+            + "from User u where u.profilePictureState = com.elksandro.seunegocio.model.enums.MediaState.PENDING "
+            + "and u.updatedAt < :before order by u.id")
+    List<PendingMediaView> findStalePendingProfilePictures(@Param("before") Instant before, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.profilePictureKey = :key, u.pendingProfilePictureKey = null, "
+            + "u.profilePictureState = com.elksandro.seunegocio.model.enums.MediaState.READY, "
+            + "u.version = u.version + 1, u.updatedAt = instant "
+            + "where u.id = :id and u.pendingProfilePictureKey = :key")
+    int completeProfilePictureUpload(@Param("id") Long id, @Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.pendingProfilePictureKey = null, "
+            + "u.profilePictureState = com.elksandro.seunegocio.model.enums.MediaState.FAILED, "
+            + "u.version = u.version + 1, u.updatedAt = instant "
+            + "where u.id = :id and u.pendingProfilePictureKey = :key")
+    int failProfilePictureUpload(@Param("id") Long id, @Param("key") String key);
 }
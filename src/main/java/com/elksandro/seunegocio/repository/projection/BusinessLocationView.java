@@ -0,0 +1,10 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+
+public record BusinessLocationView(
+    Long id,
+    Double latitude,
+    Double longitude,
+    CategoryType categoryType
+) {}
@@ -0,0 +1,10 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+
+public record BusinessSearchView(
+    Long id,
+    String name,
+    String description,
+    CategoryType categoryType
+) {}
@@ -0,0 +1,12 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+
+public record BusinessSummaryView(
+    Long id,
+    String name,
+    String address,
+    CategoryType categoryType,
+    String logoKey,
+    String ownerWhatsapp
+) {}
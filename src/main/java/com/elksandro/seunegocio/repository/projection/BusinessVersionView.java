@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.repository.projection;
+
+public record BusinessVersionView(
+    Long id,
+    Long version,
+    Long ownerVersion
+) {}
@@ -0,0 +1,33 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.MediaState;
+import com.elksandro.seunegocio.model.enums.Role;
+
+public record BusinessView(
+    Long id,
+    String name,
+    String description,
+    String address,
+    Double latitude,
+    Double longitude,
+    CategoryType categoryType,
+    String logoKey,
+    MediaState logoState,
+    Long ownerId,
+    String ownerName,
+    String ownerWhatsapp,
+    String ownerProfilePictureKey,
+    Role ownerRole,
+    Long version,
+    Long ownerVersion
+) {
+
+    public BusinessVersionView versionView() {
+        return new BusinessVersionView(id, version, ownerVersion);
+    }
+
+    public UserSummaryView owner() {
+        return new UserSummaryView(ownerId, ownerName, ownerWhatsapp, ownerProfilePictureKey, ownerRole);
+    }
+}
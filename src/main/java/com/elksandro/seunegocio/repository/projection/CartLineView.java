@@ -0,0 +1,25 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record CartLineView(
+    Long id,
+    Integer quantity,
+    Long itemId,
+    String itemName,
+    Double itemPrice,
+    String itemImageKey,
+    OfferType itemOfferType,
+    Long businessId,
+    String businessName
+) {
+
+    public static CartLineView of(Long id, Integer quantity, ItemSummaryView item) {
+        return new CartLineView(id, quantity, item.id(), item.name(), item.price(), item.imageKey(),
+                item.offerType(), item.businessId(), item.businessName());
+    }
+
+    public ItemSummaryView item() {
+        return new ItemSummaryView(itemId, itemName, itemPrice, itemImageKey, itemOfferType, businessId, businessName);
+    }
+}
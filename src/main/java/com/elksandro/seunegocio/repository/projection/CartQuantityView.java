@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.repository.projection;
+
+public record CartQuantityView(
+    Long userId,
+    Long itemId,
+    Integer quantity
+) {}
@@ -0,0 +1,11 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import java.math.BigDecimal;
+
+public record CheckoutGroupView(
+    Long businessId,
+    String businessName,
+    String whatsapp,
+    Long itemCount,
+    BigDecimal subtotal
+) {}
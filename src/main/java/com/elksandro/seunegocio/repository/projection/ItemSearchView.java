@@ -0,0 +1,15 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record ItemSearchView(
+    Long id,
+    String name,
+    String description,
+    Double price,
+    OfferType offerType,
+    Long businessId,
+    String businessName,
+    CategoryType categoryType
+) {}
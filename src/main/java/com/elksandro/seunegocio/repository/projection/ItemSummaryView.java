@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record ItemSummaryView(
+    Long id,
+    String name,
+    Double price,
+    String imageKey,
+    OfferType offerType,
+    Long businessId,
+    String businessName
+) {}
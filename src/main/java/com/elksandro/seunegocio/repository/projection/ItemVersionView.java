@@ -0,0 +1,8 @@
+package com.elksandro.seunegocio.repository.projection;
+
+public record ItemVersionView(
+    Long id,
+    Long version,
+    Long businessVersion,
+    Long ownerVersion
+) {}
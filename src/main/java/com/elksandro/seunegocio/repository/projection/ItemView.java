@@ -0,0 +1,34 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.MediaState;
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record ItemView(
+    Long id,
+    String name,
+    String description,
+    Double price,
+    OfferType offerType,
+    String imageKey,
+    MediaState imageState,
+    Long businessId,
+    String businessName,
+    String businessAddress,
+    CategoryType businessCategoryType,
+    String businessLogoKey,
+    String ownerWhatsapp,
+    Long version,
+    Long businessVersion,
+    Long ownerVersion
+) {
+
+    public ItemVersionView versionView() {
+        return new ItemVersionView(id, version, businessVersion, ownerVersion);
+    }
+
+    public BusinessSummaryView business() {
+        return new BusinessSummaryView(businessId, businessName, businessAddress, businessCategoryType,
+                businessLogoKey, ownerWhatsapp);
+    }
+}
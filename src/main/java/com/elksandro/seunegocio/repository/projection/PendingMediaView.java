@@ -0,0 +1,6 @@
+package com.elksandro.seunegocio.repository.projection;
+
+public record PendingMediaView(
+    Long id,
+    String pendingKey
+) {}
@@ -0,0 +1,11 @@
+package com.elksandro.seunegocio.repository.projection;
+
+import com.elksandro.seunegocio.model.enums.Role;
+
+public record UserSummaryView(
+    Long id,
+    String name,
+    String whatsapp,
+    String profilePictureKey,
+    Role role
+) {}
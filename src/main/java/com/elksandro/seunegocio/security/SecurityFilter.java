@@ -4,12 +4,9 @@ import java.io.IOException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.elksandro.seunegocio.service.UserDetailsServiceImpl;
-
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,11 +16,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationRegistry revocationRegistry;
 
-    public SecurityFilter(TokenProvider tokenProvider, UserDetailsServiceImpl userDetailsService) {
+    public SecurityFilter(TokenProvider tokenProvider, TokenRevocationRegistry revocationRegistry) {
         this.tokenProvider = tokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.revocationRegistry = revocationRegistry;
     }
 
     @Override
@@ -32,16 +29,13 @@ public class SecurityFilter extends OncePerRequestFilter {
         String token = recoverToken(request);
         
         if (token != null) {
-            String userIdStr = tokenProvider.getSubjectByToken(token);
-
-            if (userIdStr != null) {
-                Long userId = Long.valueOf(userIdStr);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            UserPrincipal principal = tokenProvider.getPrincipalByToken(token);
 
+            if (principal != null && !revocationRegistry.isRevoked(principal.id(), principal.securityEpoch())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities());
+                        principal.getAuthorities());
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
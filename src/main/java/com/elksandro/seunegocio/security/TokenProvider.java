@@ -1,5 +1,9 @@
 package com.elksandro.seunegocio.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -9,34 +13,90 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.model.enums.Role;
 import com.elksandro.seunegocio.security.exception.TokenException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.PostConstruct;
 
 @Service
 public class TokenProvider {
 
+    public static final String REFRESHED_TOKEN_HEADER = "X-Refreshed-Token";
+
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLE_CLAIM = "role";
+    private static final String EPOCH_CLAIM = "epoch";
+
     @Value("${api.secret}")
     private String secret;
 
+    @Value("${api.token-cache.maximum-size}")
+    private long tokenCacheMaximumSize;
+
     private final long EXPIRATION_TIME_IN_SECONDS = 259200; // 3 dias
 
+    private final MeterRegistry meterRegistry;
+
     private Algorithm algorithm;
 
+    private JWTVerifier verifier;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private final Timer signTimer;
+
+    /** Only cache misses reach the verifier, so this times the HMAC check alone. */
+    private final Timer verifyTimer;
+
+    public TokenProvider(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.signTimer = Timer.builder("security.token")
+                .description("JWT operations")
+                .tag("operation", "sign")
+                .register(meterRegistry);
+        this.verifyTimer = Timer.builder("security.token")
+                .description("JWT operations")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+    }
+
     @PostConstruct
     public void setUp() {
         Base64.getEncoder().encode(secret.getBytes());
         algorithm = Algorithm.HMAC256(secret.getBytes());
+        verifier = JWT.require(algorithm).build();
+
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
     }
 
     public String generateToken(User user) {
+        return signTimer.record(() -> sign(user));
+    }
+
+    private String sign(User user) {
         try {
             return JWT.create()
                 .withSubject(String.valueOf(user.getId()))
+                .withClaim(EMAIL_CLAIM, user.getEmail())
+                .withClaim(ROLE_CLAIM, user.getRole().name())
+                .withClaim(EPOCH_CLAIM, user.getSecurityEpoch())
                 .withIssuedAt(Instant.now())
                 .withExpiresAt(expirationToken())
                 .sign(algorithm)
@@ -51,17 +111,87 @@ public class TokenProvider {
     }
 
     public String getSubjectByToken(String token) {
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.subject() : null;
+    }
+
+    public UserPrincipal getPrincipalByToken(String token) {
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.principal() : null;
+    }
+
+    private VerifiedToken verify(String token) {
+        String key = digest(token);
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecodedJWT jwt;
+        Timer.Sample sample = Timer.start();
         try {
-            return JWT.require(algorithm)
-                .build()
-                .verify(token)
-                .getSubject();
+            jwt = verifier.verify(token);
         } catch (JWTVerificationException e){
             return null;
+        } finally {
+            sample.stop(verifyTimer);
+        }
+
+        VerifiedToken verified = new VerifiedToken(jwt.getSubject(), toPrincipal(jwt), jwt.getExpiresAtAsInstant());
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private UserPrincipal toPrincipal(DecodedJWT jwt) {
+        String email = jwt.getClaim(EMAIL_CLAIM).asString();
+        String role = jwt.getClaim(ROLE_CLAIM).asString();
+        Long epoch = jwt.getClaim(EPOCH_CLAIM).asLong();
+
+        if (jwt.getSubject() == null || email == null || role == null || epoch == null) {
+            return null;
+        }
+
+        try {
+            return new UserPrincipal(Long.valueOf(jwt.getSubject()), email, Role.valueOf(role), epoch);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
     public long getExpirationTimeInSeconds() {
         return EXPIRATION_TIME_IN_SECONDS;
     }
+
+    private record VerifiedToken(String subject, UserPrincipal principal, Instant expiresAt) {}
+
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.elksandro.seunegocio.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Minimum security epoch accepted per user. The users table is the source of truth: a miss
+ * reads the user's current epoch, and a user that no longer exists has every token revoked.
+ * Revocations made on this instance apply at once; those made on another instance are seen
+ * once the cached entry expires.
+ *
+ * <p>The lookup runs outside Caffeine's locks so a virtual thread is never pinned for the
+ * database round trip; concurrent revocations win through {@code merge}.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> minimumEpochs;
+
+    public TokenRevocationRegistry(UserRepository userRepository, MeterRegistry meterRegistry,
+            @Value("${api.token-cache.maximum-size}") long maximumSize,
+            @Value("${api.token-revocation.ttl}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.minimumEpochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, minimumEpochs, "token-revocations");
+    }
+
+    public void revokeBefore(Long userId, long epoch) {
+        minimumEpochs.asMap().merge(userId, epoch, Math::max);
+    }
+
+    public void revokeAll(Long userId) {
+        minimumEpochs.put(userId, DELETED);
+    }
+
+    public boolean isRevoked(Long userId, long epoch) {
+        Long minimumEpoch = minimumEpochs.getIfPresent(userId);
+        if (minimumEpoch == null) {
+            long current = userRepository.findSecurityEpochById(userId).orElse(DELETED);
+            minimumEpoch = minimumEpochs.asMap().merge(userId, current, Math::max);
+        }
+        return epoch < minimumEpoch;
+    }
+}
@@ -1,45 +1,105 @@
 package com.elksandro.seunegocio.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.elksandro.seunegocio.dto.business.BusinessRequest;
 import com.elksandro.seunegocio.dto.business.BusinessResponse;
 import com.elksandro.seunegocio.dto.business.CategoryResponse;
-import com.elksandro.seunegocio.dto.item.ItemResponse;
+import com.elksandro.seunegocio.dto.business.NearbyBusinessResponse;
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
 import com.elksandro.seunegocio.dto.user.UserSummaryResponse;
 import com.elksandro.seunegocio.model.Business;
 import com.elksandro.seunegocio.model.User;
 import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.model.enums.Role;
 import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
 import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.repository.projection.BusinessSummaryView;
+import com.elksandro.seunegocio.repository.projection.BusinessVersionView;
+import com.elksandro.seunegocio.repository.projection.BusinessView;
+import com.elksandro.seunegocio.repository.projection.UserSummaryView;
+import com.elksandro.seunegocio.security.TokenRevocationRegistry;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
+import com.elksandro.seunegocio.service.etag.ETags;
+import com.elksandro.seunegocio.service.etag.Tagged;
 import com.elksandro.seunegocio.service.exception.BusinessAlreadyExistsException;
+import com.elksandro.seunegocio.service.exception.BusinessNotFoundException;
+import com.elksandro.seunegocio.service.exception.PreconditionFailedException;
 import com.elksandro.seunegocio.service.exception.UnauthorizedException;
 import com.elksandro.seunegocio.service.exception.UserNotFoundException;
+import com.elksandro.seunegocio.service.geo.GeoHit;
+import com.elksandro.seunegocio.service.geo.GeoIndex;
+import com.elksandro.seunegocio.service.media.MediaUploadService;
+import com.elksandro.seunegocio.service.media.StagedUpload;
+import com.elksandro.seunegocio.service.pagination.CursorPagination;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.StorageOutbox;
+import com.elksandro.seunegocio.service.transaction.AfterCommit;
 
 @Service
 public class BusinessService {
 
+    private static final List<CategoryResponse> CATEGORIES = Arrays.stream(CategoryType.values())
+            .map(c -> new CategoryResponse(c.name(), c.getDisplayName()))
+            .toList();
+
+    private static final double DEFAULT_NEARBY_RADIUS_METERS = 5_000;
+    private static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    private static final int DEFAULT_NEARBY_LIMIT = 20;
+    private static final int MAX_NEARBY_LIMIT = 100;
+
+    private static final String CATEGORIES_ETAG = ETags.of("categories", CATEGORIES);
+
     private final BusinessRepository businessRepository;
     private final UserRepository userRepository;
-    private final ItemService itemService;
-    private final MinioService minioService;
+    private final ObjectStorage objectStorage;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final CatalogCache catalogCache;
+    private final SearchService searchService;
+    private final GeoIndex geoIndex;
+    private final MediaUploadService mediaUploadService;
+    private final ItemRepository itemRepository;
+    private final StorageOutbox storageOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     public BusinessService(BusinessRepository businessRepository, UserRepository userRepository,
-            ItemService itemService, MinioService minioService) {
+            ObjectStorage objectStorage, TokenRevocationRegistry revocationRegistry, CatalogCache catalogCache,
+            SearchService searchService, GeoIndex geoIndex, MediaUploadService mediaUploadService,
+            ItemRepository itemRepository, StorageOutbox storageOutbox, TransactionTemplate transactionTemplate) {
         this.businessRepository = businessRepository;
         this.userRepository = userRepository;
-        this.itemService = itemService;
-        this.minioService = minioService;
+        this.itemRepository = itemRepository;
+        this.storageOutbox = storageOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.objectStorage = objectStorage;
+        this.revocationRegistry = revocationRegistry;
+        this.catalogCache = catalogCache;
+        this.searchService = searchService;
+        this.geoIndex = geoIndex;
+        this.mediaUploadService = mediaUploadService;
     }
 
+    /**
+     * The business row and the owner's promotion to seller commit together; the owner's older
+     * tokens are revoked and the in-process indexes updated only once that commit succeeded.
+     */
     public BusinessResponse createBusiness(BusinessRequest businessRequest, MultipartFile logo, Long ownerId)
             throws Exception {
         validateBusinessRequest(businessRequest, logo);
@@ -49,121 +109,330 @@ public class BusinessService {
                     "Já existe um negócio cadastrado com este nome. Tente outro nome.");
         }
 
+        StagedUpload logoUpload = mediaUploadService.stage(logo);
+        try {
+            Business savedBusiness = transactionTemplate.execute(
+                    status -> saveNewBusiness(businessRequest, ownerId, logoUpload.objectKey()));
+
+            User owner = savedBusiness.getOwner();
+            revocationRegistry.revokeBefore(owner.getId(), owner.getSecurityEpoch());
+            catalogCache.evictCategoryPagesCovering(savedBusiness.getCategoryType(), savedBusiness.getId());
+            searchService.indexBusiness(savedBusiness);
+            geoIndex.put(savedBusiness.getId(), savedBusiness.getLatitude(), savedBusiness.getLongitude(),
+                    savedBusiness.getCategoryType());
+
+            BusinessResponse response = convertToResponse(savedBusiness);
+            mediaUploadService.submit(logoUpload, MediaSlot.BUSINESS_LOGO, savedBusiness.getId());
+            return response;
+        } catch (Exception e) {
+            mediaUploadService.discard(logoUpload);
+
+            if (e instanceof DataIntegrityViolationException) {
+                throw new BusinessAlreadyExistsException(
+                        "Falha ao salvar: Nome de negócio já existe ou dados são inválidos.");
+            }
+
+            throw e;
+        }
+    }
+
+    private Business saveNewBusiness(BusinessRequest businessRequest, Long ownerId, String pendingLogoKey) {
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new UserNotFoundException("Usuário proprietário não encontrado."));
 
         if (owner.getRole() == Role.BUYER) {
             owner.setRole(Role.SELLER);
+            owner.advanceSecurityEpoch();
             userRepository.save(owner);
         }
 
-        String logoKey = null;
-        try {
-            logoKey = minioService.uploadFile(logo);
-
-            Business business = new Business();
-            business.setName(businessRequest.name());
-            business.setDescription(businessRequest.description());
-            business.setAddress(businessRequest.address());
-            business.setCategoryType(businessRequest.categoryType());
-            business.setOwner(owner);
-            business.setLogoKey(logoKey);
-
-            Business savedBusiness = businessRepository.save(business);
-            return convertToResponse(savedBusiness);
-        } catch (Exception e) {
-            if (logoKey != null) {
-                minioService.deleteObject(logoKey);
-            }
+        Business business = new Business();
+        business.setName(businessRequest.name());
+        business.setDescription(businessRequest.description());
+        business.setAddress(businessRequest.address());
+        business.setLatitude(businessRequest.latitude());
+        business.setLongitude(businessRequest.longitude());
+        business.setCategoryType(businessRequest.categoryType());
+        business.setOwner(owner);
+        business.setPendingLogoKey(pendingLogoKey);
+        business.setLogoState(MediaState.PENDING);
 
-            if (e instanceof DataIntegrityViolationException) {
-                throw new BusinessAlreadyExistsException(
-                        "Falha ao salvar: Nome de negócio já existe ou dados são inválidos.");
-            }
+        return businessRepository.save(business);
+    }
 
-            throw e;
+    /**
+     * Returns the business with the ETag of the snapshot it was built from. A cached entry
+     * whose ETag no longer matches {@code currentETag} is reloaded.
+     */
+    public Tagged<BusinessResponse> findBusinessById(Long id, String currentETag) {
+        return catalogCache.getBusiness(id, currentETag, businessId -> {
+            BusinessView business = businessRepository.findViewById(businessId)
+                    .orElseThrow(() -> new UserNotFoundException("Negócio não encontrado."));
+
+            return new Tagged<>(convertToResponse(business), ETags.of("business", List.of(business.versionView())));
+        });
+    }
+
+    public String findBusinessETag(Long id) {
+        BusinessVersionView version = businessRepository.findVersionById(id)
+                .orElseThrow(() -> new BusinessNotFoundException("Negócio não encontrado."));
+
+        return ETags.of("business", List.of(version));
+    }
+
+    public CursorPageResponse<BusinessResponse> findBusinessByOwner(Long ownerId, String cursor, Integer size) {
+        if (!userRepository.existsById(ownerId)) {
+            throw new UserNotFoundException("Usuário proprietário não encontrado.");
         }
+
+        int pageSize = CursorPagination.normalizeSize(size);
+        List<BusinessView> businesses = businessRepository.findViewsByOwnerId(
+                ownerId, CursorPagination.decode(cursor), CursorPagination.window(pageSize));
+
+        return CursorPagination.toPage(businesses, pageSize, BusinessView::id, this::convertToResponse);
     }
 
-    public BusinessResponse findBusinessById(Long id) {
-        Business business = businessRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("Negócio não encontrado."));
+    public String findBusinessByOwnerETag(Long ownerId, String cursor, Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        long afterId = CursorPagination.decode(cursor);
+        List<BusinessVersionView> versions = businessRepository.findVersionsByOwnerId(
+                ownerId, afterId, CursorPagination.window(pageSize));
 
-        return convertToResponse(business);
+        return ETags.of("businesses:owner:" + ownerId + ":" + afterId + ":" + pageSize, versions);
     }
 
-    public List<BusinessResponse> findBusinessByOwner(Long ownerId) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new UserNotFoundException("Usuário proprietário não encontrado."));
+    public CursorPageResponse<BusinessResponse> findBusinessByCategory(CategoryType categoryType, String cursor,
+            Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        long afterId = CursorPagination.decode(cursor);
 
-        List<Business> businesses = businessRepository.findByOwner(owner);
+        return catalogCache.getCategoryPage(categoryType, afterId, pageSize, key -> {
+            List<BusinessView> businesses = businessRepository.findViewsByCategoryType(
+                    categoryType, afterId, CursorPagination.window(pageSize));
 
-        return businesses.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+            return CursorPagination.toPage(businesses, pageSize, BusinessView::id, this::convertToResponse);
+        });
     }
 
-    public List<BusinessResponse> findBusinessByCategory(CategoryType categoryType) {
-        List<Business> businesses = businessRepository.findByCategoryType(categoryType);
+    public String findBusinessByCategoryETag(CategoryType categoryType, String cursor, Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        long afterId = CursorPagination.decode(cursor);
+        List<BusinessVersionView> versions = businessRepository.findVersionsByCategoryType(
+                categoryType, afterId, CursorPagination.window(pageSize));
 
-        return businesses.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return ETags.of("businesses:category:" + categoryType + ":" + afterId + ":" + pageSize, versions);
     }
 
     public List<CategoryResponse> findAllCategories() {
-        return Arrays.stream(CategoryType.values())
-                .map(c -> new CategoryResponse(c.name(), c.getDisplayName()))
-                .collect(Collectors.toList());
+        return CATEGORIES;
+    }
+
+    public List<NearbyBusinessResponse> findNearbyBusinesses(Double latitude, Double longitude, Double radius,
+            Integer limit, CategoryType categoryType) {
+        if (Objects.isNull(latitude) || !(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("A latitude é obrigatória e deve estar entre -90 e 90.");
+        }
+        if (Objects.isNull(longitude) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("A longitude é obrigatória e deve estar entre -180 e 180.");
+        }
+
+        double radiusMeters = Objects.isNull(radius) ? DEFAULT_NEARBY_RADIUS_METERS : radius;
+        if (!(radiusMeters > 0 && radiusMeters <= MAX_NEARBY_RADIUS_METERS)) {
+            throw new IllegalArgumentException("O raio deve ser maior que 0 e de no máximo 50000 metros.");
+        }
+
+        int maxResults = Objects.isNull(limit) ? DEFAULT_NEARBY_LIMIT : limit;
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("O limite deve ser de pelo menos 1.");
+        }
+
+        List<GeoHit> hits = geoIndex.nearest(latitude, longitude, radiusMeters,
+                Math.min(maxResults, MAX_NEARBY_LIMIT), categoryType);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, BusinessSummaryView> businesses = businessRepository
+                .findSummaryViewsByIdIn(hits.stream().map(hit -> hit.point().businessId()).toList()).stream()
+                .collect(Collectors.toMap(BusinessSummaryView::id, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> businesses.containsKey(hit.point().businessId()))
+                .map(hit -> convertToNearbyResponse(businesses.get(hit.point().businessId()), hit))
+                .toList();
+    }
+
+    public String findAllCategoriesETag() {
+        return CATEGORIES_ETAG;
     }
 
-    public BusinessResponse updateBusiness(Long businessId, BusinessRequest businessRequest, Long loggedUserId) {
+    public Tagged<BusinessResponse> updateBusiness(Long businessId, BusinessRequest businessRequest,
+            Long loggedUserId, String ifMatch) {
         Business business = businessRepository.findByIdAndOwnerId(businessId, loggedUserId)
                 .orElseThrow(() -> new UnauthorizedException("Negócio não encontrado ou você não é o proprietário."));
 
+        if (!ETags.matches(ifMatch, businessETag(business))) {
+            throw new PreconditionFailedException(
+                    "O negócio foi alterado por outra requisição. Recarregue os dados e tente novamente.");
+        }
+
+        validateCoordinates(businessRequest);
+
         business.setName(businessRequest.name());
         business.setDescription(businessRequest.description());
         business.setAddress(businessRequest.address());
+        business.setLatitude(businessRequest.latitude());
+        business.setLongitude(businessRequest.longitude());
         business.setCategoryType(businessRequest.categoryType());
 
         Business updatedBusiness = businessRepository.save(business);
-        return convertToResponse(updatedBusiness);
+        catalogCache.evictBusinesses(List.of(businessId));
+        catalogCache.evictCategoryPagesCovering(updatedBusiness.getCategoryType(), businessId);
+        searchService.indexBusiness(updatedBusiness);
+        searchService.reindexBusinessItems(businessId);
+        geoIndex.put(businessId, updatedBusiness.getLatitude(), updatedBusiness.getLongitude(),
+                updatedBusiness.getCategoryType());
+        return new Tagged<>(convertToResponse(updatedBusiness), businessETag(updatedBusiness));
     }
 
+    public BusinessResponse replaceLogo(Long businessId, InputStream logo, long contentLength, Long loggedUserId)
+            throws IOException {
+        Business business = findOwnedBusiness(businessId, loggedUserId);
+        StagedUpload logoUpload = mediaUploadService.ingest(logo, contentLength);
+        try {
+            return attachLogo(business, logoUpload);
+        } catch (RuntimeException e) {
+            mediaUploadService.discard(logoUpload);
+            throw e;
+        }
+    }
+
+    /**
+     * Points the business at an upload the caller already holds. The upload is left in place on
+     * failure, and the eviction and media job wait for the caller's transaction to commit.
+     */
+    public BusinessResponse replaceLogo(Long businessId, StagedUpload logoUpload, Long loggedUserId) {
+        return attachLogo(findOwnedBusiness(businessId, loggedUserId), logoUpload);
+    }
+
+    public void verifyBusinessOwner(Long businessId, Long loggedUserId) {
+        findOwnedBusiness(businessId, loggedUserId);
+    }
+
+    private Business findOwnedBusiness(Long businessId, Long loggedUserId) {
+        return businessRepository.findByIdAndOwnerId(businessId, loggedUserId)
+                .orElseThrow(() -> new UnauthorizedException("Negócio não encontrado ou você não é o proprietário."));
+    }
+
+    private BusinessResponse attachLogo(Business business, StagedUpload logoUpload) {
+        business.setPendingLogoKey(logoUpload.objectKey());
+        business.setLogoState(MediaState.PENDING);
+
+        Business updatedBusiness = businessRepository.save(business);
+        BusinessResponse response = convertToResponse(updatedBusiness);
+        AfterCommit.run(() -> {
+            catalogCache.evictBusinesses(List.of(business.getId()));
+            mediaUploadService.submit(logoUpload, MediaSlot.BUSINESS_LOGO, business.getId());
+        });
+        return response;
+    }
+
+    @Transactional
     public void removeBusiness(Long businessId, Long loggedUserId) {
         Business business = businessRepository.findByIdAndOwnerId(businessId, loggedUserId)
                 .orElseThrow(() -> new UnauthorizedException(
                         "Negócio não encontrado ou você não tem permissão para remover."));
 
-        if (business.getLogoKey() != null) {
-            minioService.deleteObject(business.getLogoKey());
-        }
+        List<String> imageKeys = new ArrayList<>(itemRepository.findImageKeysByBusinessId(businessId));
+        imageKeys.add(business.getLogoKey());
 
+        itemRepository.deleteByBusinessId(businessId);
         businessRepository.delete(business);
+        storageOutbox.enqueueImages(imageKeys);
+        AfterCommit.run(() -> {
+            catalogCache.evictBusinesses(List.of(businessId));
+            searchService.removeBusinesses(List.of(businessId));
+            geoIndex.removeAll(List.of(businessId));
+        });
     }
 
-    private BusinessResponse convertToResponse(Business business) {
-        UserSummaryResponse ownerSummary = new UserSummaryResponse(
-                business.getOwner().getId(),
-                business.getOwner().getName(),
-                business.getOwner().getWhatsapp(),
-                minioService.getObjectUrl(business.getLogoKey()),
-                business.getOwner().getRole().name());
+    private String businessETag(Business business) {
+        return ETags.of("business", List.of(new BusinessVersionView(
+                business.getId(), business.getVersion(), business.getOwner().getVersion())));
+    }
 
-        List<ItemResponse> itemResponses = business.getItems().stream()
-                .map(itemService::convertToResponse)
-                .collect(Collectors.toList());
+    BusinessResponse convertToResponse(Business business) {
+        User owner = business.getOwner();
 
-        return new BusinessResponse(
+        return convertToResponse(new BusinessView(
                 business.getId(),
                 business.getName(),
                 business.getDescription(),
                 business.getAddress(),
-                business.getCategoryType().name(),
-                business.getCategoryType().getDisplayName(),
-                minioService.getObjectUrl(business.getLogoKey()),
-                ownerSummary,
-                itemResponses);
+                business.getLatitude(),
+                business.getLongitude(),
+                business.getCategoryType(),
+                business.getLogoKey(),
+                business.getLogoState(),
+                owner.getId(),
+                owner.getName(),
+                owner.getWhatsapp(),
+                owner.getProfilePictureKey(),
+                owner.getRole(),
+                business.getVersion(),
+                owner.getVersion()));
+    }
+
+    BusinessResponse convertToResponse(BusinessView business) {
+        UserSummaryView owner = business.owner();
+
+        UserSummaryResponse ownerSummary = new UserSummaryResponse(
+                owner.id(),
+                owner.name(),
+                owner.whatsapp(),
+                objectStorage.getImageUrl(owner.profilePictureKey()),
+                owner.role().name());
+
+        return new BusinessResponse(
+                business.id(),
+                business.name(),
+                business.description(),
+                business.address(),
+                business.latitude(),
+                business.longitude(),
+                business.categoryType().name(),
+                business.categoryType().getDisplayName(),
+                objectStorage.getImageUrl(business.logoKey()),
+                objectStorage.getImageVariants(business.logoKey()),
+                business.logoState(),
+                ownerSummary);
+    }
+
+    private NearbyBusinessResponse convertToNearbyResponse(BusinessSummaryView business, GeoHit hit) {
+        return new NearbyBusinessResponse(
+                business.id(),
+                business.name(),
+                business.address(),
+                business.categoryType().name(),
+                objectStorage.getImageUrl(business.logoKey()),
+                business.ownerWhatsapp(),
+                hit.point().latitude(),
+                hit.point().longitude(),
+                Math.round(hit.distanceMeters()));
+    }
+
+    private void validateCoordinates(BusinessRequest request) {
+        if (Objects.isNull(request.latitude()) != Objects.isNull(request.longitude())) {
+            throw new IllegalArgumentException("Informe a latitude e a longitude juntas.");
+        }
+
+        if (Objects.nonNull(request.latitude()) && (request.latitude() < -90 || request.latitude() > 90)) {
+            throw new IllegalArgumentException("A latitude deve estar entre -90 e 90.");
+        }
+
+        if (Objects.nonNull(request.longitude()) && (request.longitude() < -180 || request.longitude() > 180)) {
+            throw new IllegalArgumentException("A longitude deve estar entre -180 e 180.");
+        }
     }
 
     private void validateBusinessRequest(BusinessRequest request, MultipartFile logo) {
@@ -186,5 +455,7 @@ public class BusinessService {
         if (Objects.isNull(request.categoryType())) {
             throw new IllegalArgumentException("A categoria do negócio é obrigatória.");
         }
+
+        validateCoordinates(request);
     }
 }
@@ -1,110 +1,159 @@
 package com.elksandro.seunegocio.service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.elksandro.seunegocio.dto.cartItem.CartItemRequest;
 import com.elksandro.seunegocio.dto.cartItem.CartItemResponse;
+import com.elksandro.seunegocio.dto.cartItem.CartLineRequest;
+import com.elksandro.seunegocio.dto.cartItem.CartUpdateRequest;
+import com.elksandro.seunegocio.dto.cartItem.CheckoutGroupResponse;
+import com.elksandro.seunegocio.dto.cartItem.CheckoutSummaryResponse;
 import com.elksandro.seunegocio.dto.item.ItemSummaryResponse;
-import com.elksandro.seunegocio.model.CartItem;
-import com.elksandro.seunegocio.model.Item;
-import com.elksandro.seunegocio.model.User;
 import com.elksandro.seunegocio.repository.CartItemRepository;
 import com.elksandro.seunegocio.repository.ItemRepository;
-import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.repository.projection.CartLineView;
+import com.elksandro.seunegocio.repository.projection.CheckoutGroupView;
+import com.elksandro.seunegocio.service.cart.CartStore;
 import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
-import com.elksandro.seunegocio.service.exception.UserNotFoundException;
 
 @Service
 public class CartItemService {
 
+    private final CartStore cartStore;
     private final CartItemRepository cartItemRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemService itemService;
 
-    public CartItemService(CartItemRepository cartItemRepository, UserRepository userRepository,
-            ItemRepository itemRepository, ItemService itemService) {
+    public CartItemService(CartStore cartStore, CartItemRepository cartItemRepository, ItemRepository itemRepository,
+            ItemService itemService) {
+        this.cartStore = cartStore;
         this.cartItemRepository = cartItemRepository;
-        this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.itemService = itemService;
     }
 
     public List<CartItemResponse> addItemToCart(Long userId, CartItemRequest cartItemRequest) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+        cartStore.addQuantity(userId, cartItemRequest.itemId(), cartItemRequest.quantity());
 
-        Item item = itemRepository.findById(cartItemRequest.itemId())
-                .orElseThrow(() -> new ItemNotFoundException("Item não encontrado."));
-
-        Optional<CartItem> existingCartItem = cartItemRepository.findByUserIdAndItemId(userId,
-                cartItemRequest.itemId());
-
-        CartItem cartItem;
+        return getCartByUserId(userId);
+    }
 
-        if (existingCartItem.isPresent()) {
-            cartItem = existingCartItem.get();
-            cartItem.setQuantity(cartItem.getQuantity() + cartItemRequest.quantity());
-        } else {
-            cartItem = new CartItem(null, user, item, cartItemRequest.quantity());
+    public List<CartItemResponse> updateQuantity(Long userId, Long itemId, Integer quantity) {
+        if (quantity <= 0) {
+            return removeItemFromCart(userId, itemId);
         }
 
-        if (cartItem.getQuantity() <= 0) {
-            cartItemRepository.delete(cartItem);
-        } else {
-            cartItemRepository.save(cartItem);
+        if (!cartStore.setQuantity(userId, itemId, quantity)) {
+            throw new ItemNotFoundException("Item não encontrado no carrinho.");
         }
 
         return getCartByUserId(userId);
     }
 
-    public List<CartItemResponse> updateQuantity(Long userId, Long itemId, Integer quantity) {
-        if (quantity <= 0) {
-            return removeItemFromCart(userId, itemId);
+    /**
+     * Sets the quantity of every listed item in one transaction; a quantity of zero removes the
+     * line. Items not listed keep their current quantity.
+     */
+    @Transactional
+    public List<CartItemResponse> updateCart(Long userId, CartUpdateRequest cartUpdateRequest) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        Set<Long> addedItemIds = new HashSet<>();
+
+        for (CartLineRequest line : cartUpdateRequest.items()) {
+            if (quantities.putIfAbsent(line.itemId(), line.quantity()) != null) {
+                throw new IllegalArgumentException("O item " + line.itemId() + " aparece mais de uma vez.");
+            }
+
+            if (line.quantity() > 0) {
+                addedItemIds.add(line.itemId());
+            }
         }
 
-        CartItem cartItem = cartItemRepository.findByUserIdAndItemId(userId, itemId)
-                .orElseThrow(() -> new ItemNotFoundException("Item não encontrado no carrinho."));
-        
-        cartItem.setQuantity(quantity);
-        cartItemRepository.save(cartItem);
+        if (!addedItemIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(addedItemIds);
+            missing.removeAll(itemRepository.findExistingIds(addedItemIds));
+            if (!missing.isEmpty()) {
+                throw new ItemNotFoundException("Item(ns) não encontrado(s): " + missing);
+            }
+        }
+
+        cartStore.applyQuantities(userId, quantities);
 
         return getCartByUserId(userId);
     }
 
     public List<CartItemResponse> getCartByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
-             throw new UserNotFoundException("Usuário não encontrado.");
-        }
-        
-        List<CartItem> cartItems = cartItemRepository.findByUserId(userId);
+        List<CartLineView> cartLines = cartStore.findLines(userId);
 
-        return cartItems.stream()
+        return cartLines.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Groups the cart by seller for checkout. Counts and subtotals come from one aggregate query
+     * in exact decimals; the lines are attached to their group afterwards.
+     */
+    public CheckoutSummaryResponse getCheckoutSummary(Long userId) {
+        cartStore.persist(userId);
+
+        List<CheckoutGroupView> groups = cartItemRepository.summarizeByBusiness(userId);
+        Map<Long, List<CartItemResponse>> linesByBusiness = cartStore.findLines(userId).stream()
+                .collect(Collectors.groupingBy(CartLineView::businessId,
+                        Collectors.mapping(this::convertToResponse, Collectors.toList())));
+
+        long itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        List<CheckoutGroupResponse> responses = new ArrayList<>(groups.size());
+        for (CheckoutGroupView group : groups) {
+            BigDecimal subtotal = group.subtotal() != null ? group.subtotal() : BigDecimal.ZERO;
+            itemCount += group.itemCount();
+            total = total.add(subtotal);
+            responses.add(new CheckoutGroupResponse(
+                    group.businessId(),
+                    group.businessName(),
+                    group.whatsapp(),
+                    group.itemCount(),
+                    subtotal,
+                    linesByBusiness.getOrDefault(group.businessId(), List.of())));
+        }
+
+        return new CheckoutSummaryResponse(responses, itemCount, total);
+    }
+
     public List<CartItemResponse> removeItemFromCart(Long userId, Long itemId) {
-        CartItem cartItem = cartItemRepository.findByUserIdAndItemId(userId, itemId)
-                .orElseThrow(() -> new ItemNotFoundException("Item não encontrado no carrinho."));
-        
-        cartItemRepository.delete(cartItem);
-        
+        if (!cartStore.removeItem(userId, itemId)) {
+            throw new ItemNotFoundException("Item não encontrado no carrinho.");
+        }
+
         return getCartByUserId(userId);
     }
 
-    private CartItemResponse convertToResponse(CartItem cartItem) {
-        ItemSummaryResponse itemSummary = itemService.convertToSummaryResponse(cartItem.getItem());
+    /**
+     * Rounds the price to cents before multiplying, the same way {@code summarizeByBusiness}
+     * does, so the line subtotals of a group add up to the group subtotal.
+     */
+    private CartItemResponse convertToResponse(CartLineView cartLine) {
+        ItemSummaryResponse itemSummary = itemService.convertToSummaryResponse(cartLine.item());
         
-        double subtotal = itemSummary.price() * cartItem.getQuantity();
+        BigDecimal subtotal = BigDecimal.valueOf(itemSummary.price())
+                .setScale(2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(cartLine.quantity()));
 
         return new CartItemResponse(
-                cartItem.getId(),
-                cartItem.getQuantity(),
+                cartLine.id(),
+                cartLine.quantity(),
                 subtotal,
                 itemSummary
         );
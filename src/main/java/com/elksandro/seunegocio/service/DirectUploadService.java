@@ -0,0 +1,183 @@
+package com.elksandro.seunegocio.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elksandro.seunegocio.dto.media.UploadConfirmationResponse;
+import com.elksandro.seunegocio.dto.media.UploadTicketRequest;
+import com.elksandro.seunegocio.dto.media.UploadTicketResponse;
+import com.elksandro.seunegocio.model.PendingUpload;
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.model.enums.MediaState;
+import com.elksandro.seunegocio.repository.PendingUploadRepository;
+import com.elksandro.seunegocio.service.exception.UploadNotFoundException;
+import com.elksandro.seunegocio.service.media.ImageFormat;
+import com.elksandro.seunegocio.service.media.MediaSource.IncomingObject;
+import com.elksandro.seunegocio.service.media.MediaUploadService;
+import com.elksandro.seunegocio.service.media.StagedUpload;
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.PresignedUpload;
+
+/**
+ * Lets clients send image bytes straight to storage. A ticket reserves an object under
+ * {@code incoming/} and returns a short-lived signed upload for it that only accepts the declared
+ * content type and size; on confirmation the object is checked again with {@code statObject}
+ * and by its first bytes before it enters the regular derivative pipeline. The ticket is claimed
+ * in the same transaction that points the entity at the new image, so a confirmation that fails
+ * leaves both the ticket and its object in place; the media job and the cache eviction start
+ * only once that transaction commits. Tickets that are never confirmed are removed by
+ * {@link #expireUploads()}, and the bucket lifecycle rule on {@code incoming/} catches anything
+ * that slips past it.
+ */
+@Service
+public class DirectUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DirectUploadService.class);
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+    private static final String NOT_FOUND = "Envio não encontrado ou expirado.";
+
+    private final PendingUploadRepository pendingUploadRepository;
+    private final ObjectStorage objectStorage;
+    private final MediaUploadService mediaUploadService;
+    private final BusinessService businessService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ticketTtl;
+
+    public DirectUploadService(PendingUploadRepository pendingUploadRepository, ObjectStorage objectStorage,
+            MediaUploadService mediaUploadService, BusinessService businessService, ItemService itemService,
+            UserService userService, TransactionTemplate transactionTemplate,
+            @Value("${api.media-upload.presign-ttl}") Duration ticketTtl) {
+        this.pendingUploadRepository = pendingUploadRepository;
+        this.objectStorage = objectStorage;
+        this.mediaUploadService = mediaUploadService;
+        this.businessService = businessService;
+        this.itemService = itemService;
+        this.userService = userService;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketTtl = ticketTtl;
+    }
+
+    public UploadTicketResponse issueTicket(UploadTicketRequest request, Long loggedUserId) {
+        ImageFormat format = ImageFormat.fromContentType(request.contentType());
+        if (format == null) {
+            throw new IllegalArgumentException("Formato de imagem não suportado. Envie JPEG, PNG ou GIF.");
+        }
+        mediaUploadService.checkSize(request.size());
+
+        PendingUpload upload = new PendingUpload();
+        upload.setObjectName(IncomingObject.PREFIX + UUID.randomUUID());
+        upload.setSlot(request.slot());
+        upload.setTargetId(resolveTarget(request.slot(), request.targetId(), loggedUserId));
+        upload.setUserId(loggedUserId);
+        upload.setContentType(format.getContentType());
+        upload.setSize(request.size());
+        upload.setExpiresAt(Instant.now().plus(ticketTtl));
+
+        PresignedUpload presigned = objectStorage.presignUpload(
+                upload.getObjectName(), upload.getContentType(), upload.getSize(), ticketTtl);
+        PendingUpload savedUpload = pendingUploadRepository.save(upload);
+
+        return new UploadTicketResponse(
+                savedUpload.getId(),
+                presigned.url(),
+                presigned.method(),
+                presigned.fields(),
+                savedUpload.getExpiresAt());
+    }
+
+    public UploadConfirmationResponse confirmUpload(UUID uploadId, Long loggedUserId) throws IOException {
+        PendingUpload upload = pendingUploadRepository.findByIdAndUserId(uploadId, loggedUserId)
+                .filter(pending -> pending.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new UploadNotFoundException(NOT_FOUND));
+
+        StoredObject stored = objectStorage.statObject(upload.getObjectName())
+                .orElseThrow(() -> new IllegalArgumentException("O arquivo ainda não foi enviado."));
+
+        if (stored.size() != upload.getSize() || sniff(upload.getObjectName()) == null) {
+            if (pendingUploadRepository.claim(uploadId) == 0) {
+                throw new UploadNotFoundException(NOT_FOUND);
+            }
+            objectStorage.deleteObject(upload.getObjectName());
+            throw new IllegalArgumentException("O arquivo enviado não corresponde ao que foi informado.");
+        }
+
+        StagedUpload stagedUpload = mediaUploadService.adopt(upload.getObjectName());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (pendingUploadRepository.claim(uploadId) == 0) {
+                throw new UploadNotFoundException(NOT_FOUND);
+            }
+
+            switch (upload.getSlot()) {
+                case BUSINESS_LOGO -> businessService.replaceLogo(upload.getTargetId(), stagedUpload, loggedUserId);
+                case ITEM_IMAGE -> itemService.replaceImage(upload.getTargetId(), stagedUpload, loggedUserId);
+                case USER_PROFILE_PICTURE -> userService.replaceProfilePicture(upload.getTargetId(), stagedUpload);
+            }
+        });
+
+        return new UploadConfirmationResponse(uploadId, upload.getSlot(), upload.getTargetId(), MediaState.PENDING);
+    }
+
+    @Scheduled(fixedDelayString = "${api.media-upload.expiry-interval}")
+    public void expireUploads() {
+        int removed = 0;
+        List<PendingUpload> expired;
+        do {
+            expired = pendingUploadRepository.findExpired(Instant.now(), PageRequest.of(0, EXPIRY_BATCH_SIZE));
+            for (PendingUpload upload : expired) {
+                if (pendingUploadRepository.claim(upload.getId()) == 0) {
+                    continue;
+                }
+
+                removed++;
+                try {
+                    objectStorage.deleteObject(upload.getObjectName());
+                } catch (RuntimeException e) {
+                    logger.warn("Envio expirado '{}' não removido: {}", upload.getObjectName(), e.getMessage());
+                }
+            }
+        } while (expired.size() == EXPIRY_BATCH_SIZE);
+
+        if (removed > 0) {
+            logger.info("{} envio(s) não confirmado(s) expirado(s).", removed);
+        }
+    }
+
+    private Long resolveTarget(MediaSlot slot, Long targetId, Long loggedUserId) {
+        if (slot == MediaSlot.USER_PROFILE_PICTURE) {
+            return loggedUserId;
+        }
+
+        if (targetId == null) {
+            throw new IllegalArgumentException("O ID do destino da imagem é obrigatório.");
+        }
+
+        if (slot == MediaSlot.BUSINESS_LOGO) {
+            businessService.verifyBusinessOwner(targetId, loggedUserId);
+        } else {
+            itemService.verifyItemOwner(targetId, loggedUserId);
+        }
+        return targetId;
+    }
+
+    private ImageFormat sniff(String objectName) throws IOException {
+        try (InputStream header = objectStorage.getObject(objectName, 0, ImageFormat.SNIFF_LENGTH)) {
+            return ImageFormat.sniff(header.readAllBytes());
+        }
+    }
+}
@@ -1,36 +1,65 @@
 package com.elksandro.seunegocio.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.elksandro.seunegocio.dto.business.BusinessSummaryResponse;
 import com.elksandro.seunegocio.dto.item.ItemRequest;
 import com.elksandro.seunegocio.dto.item.ItemResponse;
 import com.elksandro.seunegocio.dto.item.ItemSummaryResponse;
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
 import com.elksandro.seunegocio.model.Business;
 import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.repository.BusinessRepository;
 import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.projection.BusinessSummaryView;
+import com.elksandro.seunegocio.repository.projection.ItemSummaryView;
+import com.elksandro.seunegocio.repository.projection.ItemVersionView;
+import com.elksandro.seunegocio.repository.projection.ItemView;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
+import com.elksandro.seunegocio.service.etag.ETags;
+import com.elksandro.seunegocio.service.etag.Tagged;
 import com.elksandro.seunegocio.service.exception.BusinessNotFoundException;
 import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
+import com.elksandro.seunegocio.service.exception.PreconditionFailedException;
 import com.elksandro.seunegocio.service.exception.UnauthorizedException;
+import com.elksandro.seunegocio.service.media.MediaUploadService;
+import com.elksandro.seunegocio.service.media.StagedUpload;
+import com.elksandro.seunegocio.service.pagination.CursorPagination;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.StorageOutbox;
+import com.elksandro.seunegocio.service.transaction.AfterCommit;
 
 @Service
 public class ItemService {
 
     private final ItemRepository itemRepository;
     private final BusinessRepository businessRepository;
-    private final MinioService minioService;
+    private final ObjectStorage objectStorage;
+    private final CatalogCache catalogCache;
+    private final SearchService searchService;
+    private final MediaUploadService mediaUploadService;
+    private final StorageOutbox storageOutbox;
 
     public ItemService(ItemRepository itemRepository, BusinessRepository businessRepository,
-            MinioService minioService) {
+            ObjectStorage objectStorage, CatalogCache catalogCache, SearchService searchService,
+            MediaUploadService mediaUploadService, StorageOutbox storageOutbox) {
         this.itemRepository = itemRepository;
         this.businessRepository = businessRepository;
-        this.minioService = minioService;
+        this.objectStorage = objectStorage;
+        this.catalogCache = catalogCache;
+        this.searchService = searchService;
+        this.mediaUploadService = mediaUploadService;
+        this.storageOutbox = storageOutbox;
     }
 
     public ItemResponse createItem(ItemRequest itemRequest, MultipartFile image, Long loggedUserId) throws Exception {
@@ -40,7 +69,7 @@ public class ItemService {
                 .orElseThrow(() -> new BusinessNotFoundException(
                         "Negócio não encontrado ou não pertence ao usuário logado."));
 
-        String imageKey = minioService.uploadFile(image);
+        StagedUpload imageUpload = mediaUploadService.stage(image);
 
         Item item = new Item();
         item.setName(itemRequest.name());
@@ -48,86 +77,226 @@ public class ItemService {
         item.setPrice(itemRequest.price());
         item.setOfferType(itemRequest.offerType());
         item.setBusiness(business);
-        item.setImageKey(imageKey);
+        item.setPendingImageKey(imageUpload.objectKey());
+        item.setImageState(MediaState.PENDING);
+
+        Item savedItem;
+        try {
+            savedItem = itemRepository.save(item);
+        } catch (RuntimeException e) {
+            mediaUploadService.discard(imageUpload);
+            throw e;
+        }
+        searchService.indexItem(savedItem);
+
+        ItemResponse response = convertToResponse(savedItem);
+        mediaUploadService.submit(imageUpload, MediaSlot.ITEM_IMAGE, savedItem.getId());
+        return response;
+    }
 
-        Item savedItem = itemRepository.save(item);
-        return convertToResponse(savedItem);
+    /**
+     * Returns the item with the ETag of the snapshot it was built from. A cached entry whose
+     * ETag no longer matches {@code currentETag} is reloaded.
+     */
+    public Tagged<ItemResponse> findItemById(Long id, String currentETag) {
+        return catalogCache.getItem(id, currentETag, itemId -> {
+            ItemView item = itemRepository.findViewById(itemId)
+                    .orElseThrow(() -> new ItemNotFoundException("Item não encontrado com ID: " + itemId));
+
+            return new Tagged<>(convertToResponse(item), ETags.of("item", List.of(item.versionView())));
+        });
     }
 
-    public ItemResponse findItemById(Long id) {
-        Item item = itemRepository.findById(id)
+    public String findItemETag(Long id) {
+        ItemVersionView version = itemRepository.findVersionById(id)
                 .orElseThrow(() -> new ItemNotFoundException("Item não encontrado com ID: " + id));
 
-        return convertToResponse(item);
+        return ETags.of("item", List.of(version));
+    }
+
+    public CursorPageResponse<ItemResponse> findAllItems(String cursor, Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        List<ItemView> items = itemRepository.findViews(
+                CursorPagination.decode(cursor), CursorPagination.window(pageSize));
+
+        return CursorPagination.toPage(items, pageSize, ItemView::id, this::convertToResponse);
     }
 
-    public List<ItemResponse> findAllItems() {
-        List<Item> items = itemRepository.findAll();
-        return items.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public String findAllItemsETag(String cursor, Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        long afterId = CursorPagination.decode(cursor);
+        List<ItemVersionView> versions = itemRepository.findVersions(afterId, CursorPagination.window(pageSize));
+
+        return ETags.of("items:" + afterId + ":" + pageSize, versions);
     }
 
-    public ItemResponse updateItem(Long itemId, ItemRequest itemRequest, Long loggedUserId) {
-        Item item = itemRepository.findById(itemId)
+    public CursorPageResponse<ItemResponse> findItemsByBusiness(Long businessId, String cursor, Integer size) {
+        if (!businessRepository.existsById(businessId)) {
+            throw new BusinessNotFoundException("Negócio não encontrado.");
+        }
+
+        int pageSize = CursorPagination.normalizeSize(size);
+        List<ItemView> items = itemRepository.findViewsByBusinessId(
+                businessId, CursorPagination.decode(cursor), CursorPagination.window(pageSize));
+
+        return CursorPagination.toPage(items, pageSize, ItemView::id, this::convertToResponse);
+    }
+
+    public String findItemsByBusinessETag(Long businessId, String cursor, Integer size) {
+        int pageSize = CursorPagination.normalizeSize(size);
+        long afterId = CursorPagination.decode(cursor);
+        List<ItemVersionView> versions = itemRepository.findVersionsByBusinessId(
+                businessId, afterId, CursorPagination.window(pageSize));
+
+        return ETags.of("items:business:" + businessId + ":" + afterId + ":" + pageSize, versions);
+    }
+
+    public Tagged<ItemResponse> updateItem(Long itemId, ItemRequest itemRequest, Long loggedUserId, String ifMatch) {
+        Item item = itemRepository.findDetailedById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item não encontrado para atualização."));
 
         verifyItemOwner(item, loggedUserId);
 
+        if (!ETags.matches(ifMatch, itemETag(item))) {
+            throw new PreconditionFailedException(
+                    "O item foi alterado por outra requisição. Recarregue os dados e tente novamente.");
+        }
+
         item.setName(itemRequest.name());
         item.setDescription(itemRequest.description());
         item.setPrice(itemRequest.price());
         item.setOfferType(itemRequest.offerType());
 
         Item updatedItem = itemRepository.save(item);
-        return convertToResponse(updatedItem);
+        catalogCache.evictItem(itemId);
+        searchService.indexItem(updatedItem);
+        return new Tagged<>(convertToResponse(updatedItem), itemETag(updatedItem));
+    }
+
+    public ItemResponse replaceImage(Long itemId, InputStream image, long contentLength, Long loggedUserId)
+            throws IOException {
+        Item item = findOwnedItem(itemId, loggedUserId);
+        StagedUpload imageUpload = mediaUploadService.ingest(image, contentLength);
+        try {
+            return attachImage(item, imageUpload);
+        } catch (RuntimeException e) {
+            mediaUploadService.discard(imageUpload);
+            throw e;
+        }
+    }
+
+    /**
+     * Points the item at an upload the caller already holds. The upload is left in place on
+     * failure, and the eviction and media job wait for the caller's transaction to commit.
+     */
+    public ItemResponse replaceImage(Long itemId, StagedUpload imageUpload, Long loggedUserId) {
+        return attachImage(findOwnedItem(itemId, loggedUserId), imageUpload);
+    }
+
+    public void verifyItemOwner(Long itemId, Long loggedUserId) {
+        findOwnedItem(itemId, loggedUserId);
+    }
+
+    private Item findOwnedItem(Long itemId, Long loggedUserId) {
+        Item item = itemRepository.findDetailedById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException("Item não encontrado para atualização."));
+
+        verifyItemOwner(item, loggedUserId);
+        return item;
     }
 
+    private ItemResponse attachImage(Item item, StagedUpload imageUpload) {
+        item.setPendingImageKey(imageUpload.objectKey());
+        item.setImageState(MediaState.PENDING);
+
+        Item updatedItem = itemRepository.save(item);
+        ItemResponse response = convertToResponse(updatedItem);
+        AfterCommit.run(() -> {
+            catalogCache.evictItem(item.getId());
+            mediaUploadService.submit(imageUpload, MediaSlot.ITEM_IMAGE, item.getId());
+        });
+        return response;
+    }
+
+    @Transactional
     public void deleteItem(Long itemId, Long loggedUserId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Item não encontrado para remoção."));
 
         verifyItemOwner(item, loggedUserId);
 
-        if (item.getImageKey() != null) {
-            minioService.deleteObject(item.getImageKey());
-        }
-
         itemRepository.delete(item);
+        storageOutbox.enqueueImages(Collections.singletonList(item.getImageKey()));
+        AfterCommit.run(() -> {
+            catalogCache.evictItem(itemId);
+            searchService.removeItem(itemId);
+        });
     }
 
     public ItemResponse convertToResponse(Item item) {
         Business business = item.getBusiness();
 
-        BusinessSummaryResponse businessSummary = new BusinessSummaryResponse(
-                business.getId(),
-                business.getName(),
-                business.getAddress(),
-                business.getCategoryType().name(),
-                minioService.getObjectUrl(business.getLogoKey()),
-                business.getOwner().getWhatsapp());
-
-        return new ItemResponse(
+        return convertToResponse(new ItemView(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getPrice(),
                 item.getOfferType(),
-                minioService.getObjectUrl(item.getImageKey()),
+                item.getImageKey(),
+                item.getImageState(),
+                business.getId(),
+                business.getName(),
+                business.getAddress(),
+                business.getCategoryType(),
+                business.getLogoKey(),
+                business.getOwner().getWhatsapp(),
+                item.getVersion(),
+                business.getVersion(),
+                business.getOwner().getVersion()));
+    }
+
+    public ItemResponse convertToResponse(ItemView item) {
+        BusinessSummaryView business = item.business();
+
+        BusinessSummaryResponse businessSummary = new BusinessSummaryResponse(
+                business.id(),
+                business.name(),
+                business.address(),
+                business.categoryType().name(),
+                objectStorage.getImageUrl(business.logoKey()),
+                business.ownerWhatsapp());
+
+        return new ItemResponse(
+                item.id(),
+                item.name(),
+                item.description(),
+                item.price(),
+                item.offerType(),
+                objectStorage.getImageUrl(item.imageKey()),
+                objectStorage.getImageVariants(item.imageKey()),
+                item.imageState(),
                 businessSummary);
     }
 
-    public ItemSummaryResponse convertToSummaryResponse(Item item) {
+    public ItemSummaryResponse convertToSummaryResponse(ItemSummaryView item) {
         return new ItemSummaryResponse(
-                item.getId(),
-                item.getName(),
-                item.getPrice(),
-                minioService.getObjectUrl(item.getImageKey()),
-                item.getOfferType(),
-                item.getBusiness().getName()
+                item.id(),
+                item.name(),
+                item.price(),
+                objectStorage.getImageUrl(item.imageKey()),
+                objectStorage.getImageVariants(item.imageKey()),
+                item.offerType(),
+                item.businessName()
         );
     }
 
+    private String itemETag(Item item) {
+        Business business = item.getBusiness();
+
+        return ETags.of("item", List.of(new ItemVersionView(
+                item.getId(), item.getVersion(), business.getVersion(), business.getOwner().getVersion())));
+    }
+
     private void verifyItemOwner(Item item, Long loggedUserId) {
         if (!item.getBusiness().getOwner().getId().equals(loggedUserId)) {
             throw new UnauthorizedException("Você não tem permissão para realizar esta operação neste item.");
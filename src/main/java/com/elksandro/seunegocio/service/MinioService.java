@@ -1,41 +1,100 @@
 package com.elksandro.seunegocio.service;
 
 import java.io.InputStream;
-import java.util.UUID;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import com.elksandro.seunegocio.service.media.MediaSource.IncomingObject;
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.PresignedUpload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.minio.BucketExistsArgs;
+import io.minio.DeleteBucketPolicyArgs;
+import io.minio.GetObjectArgs;
+import io.minio.ListObjectsArgs;
 import io.minio.MakeBucketArgs;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
-import io.minio.SetBucketPolicyArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.SetBucketLifecycleArgs;
+import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
 import io.minio.errors.ErrorResponseException;
+import io.minio.messages.AbortIncompleteMultipartUpload;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Expiration;
+import io.minio.messages.Item;
+import io.minio.messages.LifecycleConfiguration;
+import io.minio.messages.LifecycleRule;
+import io.minio.messages.RuleFilter;
+import io.minio.messages.Status;
 import jakarta.annotation.PostConstruct;
 
 @Service
-public class MinioService {
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "minio", matchIfMissing = true)
+public class MinioService implements ObjectStorage {
 
     @Value("${minio.bucket-name}")
     private String bucketName;
 
-    @Value("${minio.public-url}")
+    @Value("${api.storage.public-url}")
     private String publicUrl;
 
+    @Value("${minio.public-url}")
+    private String minioPublicUrl;
+
     private static final Logger logger = LoggerFactory.getLogger(MinioService.class);
+    /** Smallest part S3 accepts; streams of unknown length are buffered one part at a time. */
+    private static final long STREAM_PART_SIZE = 5L * 1024 * 1024;
+
+    /** Objects left in {@code incoming/} (abandoned or never confirmed) are purged after this many days. */
+    private static final int INCOMING_EXPIRATION_DAYS = 1;
+
     private final MinioClient minioClient;
+    private final MinioClient presignClient;
+
+    private final MeterRegistry meterRegistry;
 
-    public MinioService(MinioClient minioClient) {
+    public MinioService(MinioClient minioClient, @Qualifier("presignMinioClient") MinioClient presignClient,
+            MeterRegistry meterRegistry) {
         this.minioClient = minioClient;
+        this.presignClient = presignClient;
+        this.meterRegistry = meterRegistry;
     }
 
     @PostConstruct
     public void init() {
+        Timer.builder("storage.init")
+                .description("Bucket setup at startup")
+                .tag("backend", "minio")
+                .register(meterRegistry)
+                .record(this::setUpBucket);
+    }
+
+    private void setUpBucket() {
         try {
             boolean isExist = minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucketName).build());
 
@@ -47,48 +106,121 @@ public class MinioService {
                 logger.info("Bucket '{}' já existe.", bucketName);
             }
 
-            String policyJson = """
-            {
-                "Version": "2012-10-17",
-                "Statement": [
-                    {
-                        "Effect": "Allow",
-                        "Principal": {"AWS": ["*"]},
-                        "Action": ["s3:GetObject"],
-                        "Resource": ["arn:aws:s3:::%s/*"]
-                    }
-                ]
-            }
-            """.formatted(bucketName);
+            LifecycleConfiguration lifecycle = new LifecycleConfiguration(List.of(new LifecycleRule(
+                    Status.ENABLED,
+                    new AbortIncompleteMultipartUpload(INCOMING_EXPIRATION_DAYS),
+                    new Expiration((ZonedDateTime) null, INCOMING_EXPIRATION_DAYS, null),
+                    new RuleFilter(IncomingObject.PREFIX),
+                    "expire-incoming-uploads",
+                    null,
+                    null,
+                    null)));
+            minioClient.setBucketLifecycle(
+                    SetBucketLifecycleArgs.builder().bucket(bucketName).config(lifecycle).build());
+            logger.info("Expiração de '{}' definida para o bucket '{}'.", IncomingObject.PREFIX, bucketName);
 
-            minioClient.setBucketPolicy(SetBucketPolicyArgs.builder().bucket(bucketName).config(policyJson).build());
-            logger.info("Política de leitura pública definida para o bucket '{}'.", bucketName);
+            minioClient.deleteBucketPolicy(DeleteBucketPolicyArgs.builder().bucket(bucketName).build());
+            logger.info("Bucket '{}' sem leitura pública; arquivos servidos por {}.", bucketName, MEDIA_PATH);
         } catch (Exception e) {
             logger.error("Erro durante a inicialização do MinIO: {}", e.getMessage(), e);
         }
     }
 
-    public String uploadFile(MultipartFile file) throws Exception {
-        String uniqueName = UUID.randomUUID().toString() + "-" + file.getOriginalFilename();
-
-        try (InputStream inputStream = file.getInputStream()) {
+    @Override
+    public void putObject(String objectName, InputStream stream, long size, String contentType) {
+        try {
             minioClient.putObject(
                 PutObjectArgs.builder()
                     .bucket(bucketName)
-                    .object(uniqueName)
-                    .stream(inputStream, file.getSize(), -1)
-                    .contentType(file.getContentType())
-                    .build()   
+                    .object(objectName)
+                    .stream(stream, size, size < 0 ? STREAM_PART_SIZE : -1)
+                    .contentType(contentType)
+                    .build()
             );
 
-            logger.info("Arquivo '{}' enviado com sucesso.", uniqueName);
-            return uniqueName;
+            logger.info("Arquivo '{}' enviado com sucesso.", objectName);
+        } catch (Exception e) {
+            logger.error("Erro ao fazer upload do arquivo '{}': {}", objectName, e.getMessage(), e);
+            throw new RuntimeException("Erro ao fazer upload da imagem", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName) {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+        } catch (Exception e) {
+            logger.error("Erro ao ler o arquivo '{}': {}", objectName, e.getMessage(), e);
+            throw new RuntimeException("Erro ao ler o arquivo do MinIO", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) {
+        try {
+            return minioClient.getObject(
+                    GetObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .offset(offset)
+                            .length(length)
+                            .build());
+        } catch (Exception e) {
+            logger.error("Erro ao ler o arquivo '{}': {}", objectName, e.getMessage(), e);
+            throw new RuntimeException("Erro ao ler o arquivo do MinIO", e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> statObject(String objectName) {
+        try {
+            StatObjectResponse stat = minioClient.statObject(
+                    StatObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(objectName)
+                            .build());
+            return Optional.of(new StoredObject(stat.size(), stat.contentType()));
+        } catch (ErrorResponseException e) {
+            if (e.errorResponse() != null && "NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            logger.error("Erro ao consultar o arquivo (resposta de erro MinIO): {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao consultar o arquivo do MinIO", e);
+        } catch (Exception e) {
+            logger.error("Erro ao consultar o arquivo '{}': {}", objectName, e.getMessage(), e);
+            throw new RuntimeException("Erro ao consultar o arquivo do MinIO", e);
+        }
+    }
+
+    /**
+     * A POST policy rather than a presigned PUT: a PUT URL signs only the method and the key, so
+     * the declared type and size would be advisory. The policy makes MinIO reject any other
+     * {@code Content-Type} or length.
+     */
+    @Override
+    public PresignedUpload presignUpload(String objectName, String contentType, long size, Duration expiry) {
+        PostPolicy policy = new PostPolicy(bucketName, ZonedDateTime.now().plus(expiry));
+        policy.addEqualsCondition("key", objectName);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addContentLengthRangeCondition(size, size);
+
+        try {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("key", objectName);
+            fields.put("Content-Type", contentType);
+            fields.putAll(presignClient.getPresignedPostFormData(policy));
+            return new PresignedUpload(minioPublicUrl + "/" + bucketName, "POST", fields);
         } catch (Exception e) {
-            logger.error("Erro ao fazer upload do arquivo: {}", e.getMessage(), e);
-            throw new RuntimeException("Erro ao fazer upload da imagem", e); 
+            logger.error("Erro ao gerar a política de envio para '{}': {}", objectName, e.getMessage(), e);
+            throw new RuntimeException("Erro ao gerar a URL de envio", e);
         }
     }
 
+    @Override
     public void deleteObject(String objectName) {
         if (objectName == null || objectName.isBlank()) return;
 
@@ -112,9 +244,58 @@ public class MinioService {
         }
     }
 
-    public String getObjectUrl(String objectName) {
-        if (objectName == null || objectName.isBlank()) return null;
-        
-        return publicUrl + "/" + bucketName + "/" + objectName;
+    /**
+     * Removes the objects with one bulk request per 1000 keys and returns the names that could
+     * not be removed. Keys that no longer exist count as removed.
+     */
+    @Override
+    public List<String> removeObjects(Collection<String> objectNames) {
+        List<DeleteObject> objects = objectNames.stream().map(DeleteObject::new).toList();
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(objects)
+                        .build());
+
+        List<String> failed = new ArrayList<>();
+        try {
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                logger.warn("Erro ao remover o arquivo '{}': {}", error.objectName(), error.message());
+                failed.add(error.objectName());
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao remover arquivos em lote: {}", e.getMessage(), e);
+            throw new RuntimeException("Erro ao remover arquivos do MinIO", e);
+        }
+        return failed;
+    }
+
+    /**
+     * Lists every object in the bucket. Pages are fetched lazily as the stream is consumed, so
+     * the caller holds at most one page of listings at a time.
+     */
+    @Override
+    public Stream<StoredObjectEntry> listObjects() {
+        Iterable<Result<Item>> results = minioClient.listObjects(
+                ListObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .recursive(true)
+                        .build());
+
+        return StreamSupport.stream(results.spliterator(), false).map(result -> {
+            try {
+                Item item = result.get();
+                return new StoredObjectEntry(item.objectName(), item.lastModified().toInstant());
+            } catch (Exception e) {
+                logger.error("Erro ao listar os arquivos do bucket: {}", e.getMessage(), e);
+                throw new RuntimeException("Erro ao listar os arquivos do MinIO", e);
+            }
+        });
+    }
+
+    @Override
+    public String publicUrl() {
+        return publicUrl;
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.elksandro.seunegocio.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
+import com.elksandro.seunegocio.dto.search.SearchHitResponse;
+import com.elksandro.seunegocio.model.Business;
+import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.projection.BusinessSearchView;
+import com.elksandro.seunegocio.repository.projection.ItemSearchView;
+import com.elksandro.seunegocio.service.pagination.CursorPagination;
+import com.elksandro.seunegocio.service.search.PortugueseAnalyzer;
+import com.elksandro.seunegocio.service.search.SearchDocument;
+import com.elksandro.seunegocio.service.search.SearchDocumentType;
+import com.elksandro.seunegocio.service.search.SearchFilter;
+import com.elksandro.seunegocio.service.search.SearchHit;
+import com.elksandro.seunegocio.service.search.SearchIndex;
+import com.elksandro.seunegocio.service.search.SearchKey;
+
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    static final int MAX_RESULTS = 1000;
+
+    private final SearchIndex index = new SearchIndex();
+    private final ItemRepository itemRepository;
+    private final BusinessRepository businessRepository;
+    private final int rebuildParallelism;
+    private final int rebuildBatchSize;
+
+    public SearchService(ItemRepository itemRepository, BusinessRepository businessRepository,
+            @Value("${api.search.rebuild-parallelism}") int rebuildParallelism,
+            @Value("${api.search.rebuild-batch-size}") int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.businessRepository = businessRepository;
+        this.rebuildParallelism = rebuildParallelism;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public CursorPageResponse<SearchHitResponse> search(String query, CategoryType categoryType, OfferType offerType,
+            String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca não pode ser vazio.");
+        }
+
+        int pageSize = CursorPagination.normalizeSize(size);
+        long offset = CursorPagination.decode(cursor);
+        if (offset >= MAX_RESULTS) {
+            return new CursorPageResponse<>(List.of(), null);
+        }
+
+        List<SearchHit> hits = index.search(PortugueseAnalyzer.analyze(query),
+                new SearchFilter(categoryType, offerType), (int) offset + pageSize + 1);
+
+        List<SearchHit> page = hits.subList((int) Math.min(offset, hits.size()), hits.size());
+        boolean hasNext = page.size() > pageSize && offset + pageSize < MAX_RESULTS;
+
+        List<SearchHitResponse> content = page.stream()
+                .limit(pageSize)
+                .map(this::convertToResponse)
+                .toList();
+
+        return new CursorPageResponse<>(content, hasNext ? CursorPagination.encode(offset + pageSize) : null);
+    }
+
+    public void indexItem(Item item) {
+        Business business = item.getBusiness();
+
+        index.put(SearchDocument.of(new ItemSearchView(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getPrice(),
+                item.getOfferType(),
+                business.getId(),
+                business.getName(),
+                business.getCategoryType())));
+    }
+
+    public void removeItem(Long itemId) {
+        index.remove(new SearchKey(SearchDocumentType.ITEM, itemId));
+    }
+
+    public void indexBusiness(Business business) {
+        index.put(SearchDocument.of(new BusinessSearchView(
+                business.getId(),
+                business.getName(),
+                business.getDescription(),
+                business.getCategoryType())));
+    }
+
+    public void reindexBusinessItems(Long businessId) {
+        itemRepository.findSearchViewsByBusinessId(businessId).stream()
+                .map(SearchDocument::of)
+                .forEach(index::put);
+    }
+
+    public void removeBusinesses(Collection<Long> businessIds) {
+        index.removeBusinesses(businessIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        index.beginRebuild();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism)) {
+            List<Future<List<SearchDocument>>> batches = new ArrayList<>();
+            submitBatches(executor, batches, businessRepository.findMaxId(),
+                    (afterId, untilId) -> businessRepository.findSearchViewsInRange(afterId, untilId).stream()
+                            .map(SearchDocument::of)
+                            .toList());
+            submitBatches(executor, batches, itemRepository.findMaxId(),
+                    (afterId, untilId) -> itemRepository.findSearchViewsInRange(afterId, untilId).stream()
+                            .map(SearchDocument::of)
+                            .toList());
+
+            List<SearchDocument> documents = new ArrayList<>();
+            for (Future<List<SearchDocument>> batch : batches) {
+                documents.addAll(batch.get());
+            }
+
+            index.completeRebuild(documents);
+            logger.info("Índice de busca reconstruído com {} documento(s) em {} ms.",
+                    documents.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            index.abortRebuild();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            index.abortRebuild();
+            logger.error("Erro ao reconstruir o índice de busca: {}", e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void submitBatches(ExecutorService executor, List<Future<List<SearchDocument>>> batches, long maxId,
+            BiFunction<Long, Long, List<SearchDocument>> loader) {
+        for (long afterId = 0; afterId < maxId; afterId += rebuildBatchSize) {
+            long from = afterId;
+            long until = Math.min(afterId + rebuildBatchSize, maxId);
+            batches.add(executor.submit(() -> loader.apply(from, until)));
+        }
+    }
+
+    private SearchHitResponse convertToResponse(SearchHit hit) {
+        SearchDocument document = hit.document();
+
+        return new SearchHitResponse(
+                document.key().type().name(),
+                document.key().id(),
+                document.name(),
+                document.price(),
+                document.offerType(),
+                document.categoryType().name(),
+                document.businessId(),
+                document.businessName());
+    }
+}
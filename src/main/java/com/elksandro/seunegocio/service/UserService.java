@@ -1,5 +1,9 @@
 package com.elksandro.seunegocio.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -9,6 +13,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.elksandro.seunegocio.dto.user.TokenResponse;
@@ -18,30 +23,61 @@ import com.elksandro.seunegocio.dto.user.UserResponse;
 import com.elksandro.seunegocio.dto.user.UserSummaryResponse;
 import com.elksandro.seunegocio.dto.user.UserUpdate;
 import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.model.enums.MediaState;
 import com.elksandro.seunegocio.model.enums.Role;
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
 import com.elksandro.seunegocio.repository.UserRepository;
 import com.elksandro.seunegocio.security.TokenProvider;
+import com.elksandro.seunegocio.security.TokenRevocationRegistry;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
 import com.elksandro.seunegocio.service.exception.UserAlreadyExistsException;
 import com.elksandro.seunegocio.service.exception.UserNotFoundException;
+import com.elksandro.seunegocio.service.geo.GeoIndex;
+import com.elksandro.seunegocio.service.media.MediaUploadService;
+import com.elksandro.seunegocio.service.media.StagedUpload;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.storage.StorageOutbox;
+import com.elksandro.seunegocio.service.transaction.AfterCommit;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final BusinessRepository businessRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final TokenProvider tokenProvider;
-    private final MinioService minioService;
+    private final ObjectStorage objectStorage;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final CatalogCache catalogCache;
+    private final SearchService searchService;
+    private final GeoIndex geoIndex;
+    private final MediaUploadService mediaUploadService;
+    private final ItemRepository itemRepository;
+    private final StorageOutbox storageOutbox;
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$",
             Pattern.CASE_INSENSITIVE);
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-            AuthenticationManager authenticationManager, TokenProvider tokenProvider, MinioService minioService) {
+    public UserService(UserRepository userRepository, BusinessRepository businessRepository,
+            PasswordEncoder passwordEncoder, AuthenticationManager authenticationManager, TokenProvider tokenProvider,
+            ObjectStorage objectStorage, TokenRevocationRegistry revocationRegistry, CatalogCache catalogCache,
+            SearchService searchService, GeoIndex geoIndex, MediaUploadService mediaUploadService,
+            ItemRepository itemRepository, StorageOutbox storageOutbox) {
         this.userRepository = userRepository;
+        this.businessRepository = businessRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
-        this.minioService = minioService;
+        this.objectStorage = objectStorage;
+        this.revocationRegistry = revocationRegistry;
+        this.catalogCache = catalogCache;
+        this.searchService = searchService;
+        this.geoIndex = geoIndex;
+        this.mediaUploadService = mediaUploadService;
+        this.itemRepository = itemRepository;
+        this.storageOutbox = storageOutbox;
     }
 
     public UserResponse registerUser(UserRequest userRequest, MultipartFile image) throws Exception {
@@ -51,9 +87,9 @@ public class UserService {
             throw new UserAlreadyExistsException("E-mail já cadastrado. Utilize outro e-mail.");
         }
 
-        String imageKey = null;
+        StagedUpload imageUpload = null;
         if (image != null && !image.isEmpty()) {
-            imageKey = minioService.uploadFile(image);
+            imageUpload = mediaUploadService.stage(image);
         }
 
         User user = new User();
@@ -62,31 +98,71 @@ public class UserService {
         user.setWhatsapp(userRequest.whatsapp());
         user.setRole(Role.BUYER);
         user.setPassword(passwordEncoder.encode(userRequest.password()));
-        user.setProfilePictureKey(imageKey);
+        if (imageUpload != null) {
+            user.setPendingProfilePictureKey(imageUpload.objectKey());
+            user.setProfilePictureState(MediaState.PENDING);
+        }
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (RuntimeException e) {
+            mediaUploadService.discard(imageUpload);
+            throw e;
+        }
 
-        return convertToResponse(savedUser);
+        UserResponse response = convertToResponse(savedUser);
+        if (imageUpload != null) {
+            mediaUploadService.submit(imageUpload, MediaSlot.USER_PROFILE_PICTURE, savedUser.getId());
+        }
+        return response;
     }
 
     public UserResponse updateProfilePicture(Long userId, MultipartFile image) throws Exception {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+        User user = findUser(userId);
 
         if (Objects.isNull(image) || image.isEmpty()) {
             throw new IllegalArgumentException("A imagem de perfil não pode ser vazia.");
         }
 
-        if (user.getProfilePictureKey() != null) {
-            minioService.deleteObject(user.getProfilePictureKey());
+        return attachOwnedUpload(user, mediaUploadService.stage(image));
+    }
+
+    public UserResponse replaceProfilePicture(Long userId, InputStream image, long contentLength) throws IOException {
+        User user = findUser(userId);
+        return attachOwnedUpload(user, mediaUploadService.ingest(image, contentLength));
+    }
+
+    /**
+     * Points the user at an upload the caller already holds. The upload is left in place on
+     * failure, and the media job waits for the caller's transaction to commit.
+     */
+    public UserResponse replaceProfilePicture(Long userId, StagedUpload imageUpload) {
+        return attachProfilePicture(findUser(userId), imageUpload);
+    }
+
+    private UserResponse attachOwnedUpload(User user, StagedUpload imageUpload) {
+        try {
+            return attachProfilePicture(user, imageUpload);
+        } catch (RuntimeException e) {
+            mediaUploadService.discard(imageUpload);
+            throw e;
         }
+    }
 
-        String newKey = minioService.uploadFile(image);
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+    }
 
-        user.setProfilePictureKey(newKey);
-        User updatedUser = userRepository.save(user);
+    private UserResponse attachProfilePicture(User user, StagedUpload imageUpload) {
+        user.setPendingProfilePictureKey(imageUpload.objectKey());
+        user.setProfilePictureState(MediaState.PENDING);
 
-        return convertToResponse(updatedUser);
+        User updatedUser = userRepository.save(user);
+        UserResponse response = convertToResponse(updatedUser);
+        AfterCommit.run(() -> mediaUploadService.submit(imageUpload, MediaSlot.USER_PROFILE_PICTURE, user.getId()));
+        return response;
     }
 
     public TokenResponse loginUser(UserLogin userLogin) {
@@ -96,6 +172,17 @@ public class UserService {
         Authentication auth = this.authenticationManager.authenticate(authenticationToken);
 
         User user = (User) auth.getPrincipal();
+        return createTokenResponse(user);
+    }
+
+    public TokenResponse issueToken(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+
+        return createTokenResponse(user);
+    }
+
+    private TokenResponse createTokenResponse(User user) {
         String token = tokenProvider.generateToken(user);
         long expiresIn = tokenProvider.getExpirationTimeInSeconds();
         return new TokenResponse(token, expiresIn);
@@ -114,6 +201,7 @@ public class UserService {
 
         updateData(user, userUpdate);
         userRepository.save(user);
+        catalogCache.evictBusinesses(businessRepository.findIdsByOwnerId(id));
 
         return convertToResponse(user);
     }
@@ -123,19 +211,28 @@ public class UserService {
         user.setWhatsapp(userUpdate.whatsapp());
     }
 
+    @Transactional
     public void removeUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado para remoção."));
 
-        if (user.getProfilePictureKey() != null) {
-            minioService.deleteObject(user.getProfilePictureKey());
-        }
+        List<String> imageKeys = new ArrayList<>(itemRepository.findImageKeysByOwnerId(id));
+        imageKeys.addAll(businessRepository.findLogoKeysByOwnerId(id));
+        imageKeys.add(user.getProfilePictureKey());
 
+        List<Long> businessIds = businessRepository.findIdsByOwnerId(id);
         userRepository.deleteById(id);
+        storageOutbox.enqueueImages(imageKeys);
+        AfterCommit.run(() -> {
+            revocationRegistry.revokeAll(id);
+            catalogCache.evictBusinesses(businessIds);
+            searchService.removeBusinesses(businessIds);
+            geoIndex.removeAll(businessIds);
+        });
     }
 
     private UserResponse convertToResponse(User user) {
-        String profileUrl = minioService.getObjectUrl(user.getProfilePictureKey());
+        String profileUrl = objectStorage.getImageUrl(user.getProfilePictureKey());
 
         return new UserResponse(
                 user.getId(),
@@ -143,11 +240,13 @@ public class UserService {
                 user.getEmail(),
                 user.getWhatsapp(),
                 profileUrl,
+                objectStorage.getImageVariants(user.getProfilePictureKey()),
+                user.getProfilePictureState(),
                 user.getRole().name());
     }
 
     public UserSummaryResponse convertToSummaryResponse(User user) {
-        String profileUrl = minioService.getObjectUrl(user.getProfilePictureKey());
+        String profileUrl = objectStorage.getImageUrl(user.getProfilePictureKey());
 
         return new UserSummaryResponse(
                 user.getId(),
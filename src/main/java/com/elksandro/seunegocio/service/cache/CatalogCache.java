@@ -0,0 +1,189 @@
+package com.elksandro.seunegocio.service.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.dto.business.BusinessResponse;
+import com.elksandro.seunegocio.dto.item.ItemResponse;
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.repository.projection.ItemSummaryView;
+import com.elksandro.seunegocio.service.etag.Tagged;
+import com.elksandro.seunegocio.service.pagination.CursorPagination;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of the public catalog responses. Entries are immutable records shared
+ * between requests; every write path evicts exactly the entries whose content it changes.
+ *
+ * <p>Caches hold futures so loaders run on the calling thread outside Caffeine's locks. A
+ * synchronous {@code Cache.get} runs the loader inside {@code ConcurrentHashMap.compute}, which
+ * pins a virtual thread to its carrier for the whole database round trip.
+ */
+@Component
+public class CatalogCache {
+
+    private final AsyncCache<Long, Tagged<BusinessResponse>> businesses;
+    private final AsyncCache<CategoryPageKey, CursorPageResponse<BusinessResponse>> categoryPages;
+    private final AsyncCache<Long, Tagged<ItemResponse>> items;
+    private final AsyncCache<Long, ItemSummaryView> itemSummaries;
+
+    public CatalogCache(MeterRegistry meterRegistry,
+            @Value("${api.catalog-cache.maximum-size}") long maximumSize,
+            @Value("${api.catalog-cache.ttl}") Duration ttl) {
+        this.businesses = newCache(maximumSize, ttl);
+        this.categoryPages = newCache(maximumSize, ttl);
+        this.items = newCache(maximumSize, ttl);
+        this.itemSummaries = newCache(maximumSize, ttl);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, businesses, "businesses");
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryPages, "business-category-pages");
+        CaffeineCacheMetrics.monitor(meterRegistry, items, "items");
+        CaffeineCacheMetrics.monitor(meterRegistry, itemSummaries, "item-summaries");
+    }
+
+    private static <K, V> AsyncCache<K, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Only an empty future is inserted under the map lock; the caller that inserted it runs the
+     * loader and every concurrent caller for the same key parks on the future. Whatever the
+     * loader throws, errors included, completes the future, so no caller is left parked on it.
+     */
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Function<? super K, V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(key));
+            } catch (Throwable e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return join(future);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes the entries matching the filter plus any still loading, since a load that started
+     * before the write may already have read the old state.
+     */
+    private static <K, V> void removeIf(AsyncCache<K, V> cache, Predicate<? super K> keyFilter,
+            Predicate<? super V> valueFilter) {
+        cache.asMap().entrySet().removeIf(entry -> keyFilter.test(entry.getKey())
+                && (!entry.getValue().isDone()
+                        || entry.getValue().isCompletedExceptionally()
+                        || valueFilter.test(entry.getValue().join())));
+    }
+
+    /**
+     * Drops a loaded entry whose ETag differs from the current one before loading, so a
+     * response never outlives a write made on another instance. A load still in flight is
+     * kept; its result carries the ETag of the snapshot it read.
+     */
+    private static <K, V> Tagged<V> loadCurrent(AsyncCache<K, Tagged<V>> cache, K key, String currentETag,
+            Function<? super K, Tagged<V>> loader) {
+        CompletableFuture<Tagged<V>> cached = cache.asMap().get(key);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()
+                && !cached.join().eTag().equals(currentETag)) {
+            cache.asMap().remove(key, cached);
+        }
+        return load(cache, key, loader);
+    }
+
+    public Tagged<BusinessResponse> getBusiness(Long businessId, String currentETag,
+            Function<Long, Tagged<BusinessResponse>> loader) {
+        return loadCurrent(businesses, businessId, currentETag, loader);
+    }
+
+    public CursorPageResponse<BusinessResponse> getCategoryPage(CategoryType categoryType, long afterId, int size,
+            Function<CategoryPageKey, CursorPageResponse<BusinessResponse>> loader) {
+        return load(categoryPages, new CategoryPageKey(categoryType, afterId, size), loader);
+    }
+
+    public Tagged<ItemResponse> getItem(Long itemId, String currentETag,
+            Function<Long, Tagged<ItemResponse>> loader) {
+        return loadCurrent(items, itemId, currentETag, loader);
+    }
+
+    /**
+     * Looks up the summaries of several items at once, loading every miss with a single call.
+     * Ids the loader does not return are absent from the result.
+     */
+    public Map<Long, ItemSummaryView> getItemSummaries(Collection<Long> itemIds,
+            Function<Set<? extends Long>, Map<Long, ItemSummaryView>> loader) {
+        return join(itemSummaries.getAll(itemIds, (missing, executor) -> {
+            try {
+                return CompletableFuture.completedFuture(loader.apply(missing));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+
+    public void evictItem(Long itemId) {
+        items.synchronous().invalidate(itemId);
+        itemSummaries.synchronous().invalidate(itemId);
+    }
+
+    /**
+     * Drops every cached response that embeds one of the given businesses: the business
+     * itself, the category pages listing it and the items carrying its summary.
+     */
+    public void evictBusinesses(Collection<Long> businessIds) {
+        if (businessIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = Set.copyOf(businessIds);
+        businesses.synchronous().invalidateAll(ids);
+        removeIf(categoryPages, key -> true, page -> page.content().stream()
+                .anyMatch(business -> ids.contains(business.id())));
+        removeIf(items, key -> true, item -> ids.contains(item.body().business().id()));
+        removeIf(itemSummaries, key -> true, item -> ids.contains(item.businessId()));
+    }
+
+    /**
+     * Drops the category pages whose id range now includes the given business, which is
+     * the only page a newly listed business changes under keyset pagination.
+     */
+    public void evictCategoryPagesCovering(CategoryType categoryType, Long businessId) {
+        removeIf(categoryPages,
+                key -> key.categoryType() == categoryType && key.afterId() < businessId,
+                page -> page.next() == null || CursorPagination.decode(page.next()) >= businessId);
+    }
+
+    public record CategoryPageKey(CategoryType categoryType, long afterId, int size) {}
+}
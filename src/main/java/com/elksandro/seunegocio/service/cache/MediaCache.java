@@ -0,0 +1,117 @@
+package com.elksandro.seunegocio.service.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hot media objects held in direct buffers, bounded by their total size in bytes rather than by
+ * entry count. Object names are immutable (every upload gets a fresh UUID), so entries only leave
+ * on eviction, expiry or deletion. A {@code max-size} of zero disables the cache.
+ *
+ * <p>Like {@link CatalogCache}, loads run on the calling thread behind a future so a slow storage
+ * read neither holds Caffeine's locks nor pins a virtual thread.
+ */
+@Component
+public class MediaCache {
+
+    private final AsyncCache<String, CachedMedia> objects;
+    private final long maxSize;
+    private final long maxObjectSize;
+
+    public MediaCache(MeterRegistry meterRegistry,
+            @Value("${api.media-cache.max-size}") DataSize maxSize,
+            @Value("${api.media-cache.max-object-size}") DataSize maxObjectSize,
+            @Value("${api.media-cache.ttl}") Duration ttl) {
+        this.maxSize = maxSize.toBytes();
+        this.maxObjectSize = Math.min(maxObjectSize.toBytes(), Integer.MAX_VALUE);
+        this.objects = Caffeine.newBuilder()
+                .maximumWeight(this.maxSize)
+                .<String, CachedMedia>weigher((objectName, media) -> media.content().capacity())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, objects, "media");
+        Gauge.builder("media.cache.size", this, MediaCache::weightedSize)
+                .description("Bytes of media held off-heap")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether an object of this size is worth caching; larger ones would push out many small
+     * hot objects for a single download.
+     */
+    public boolean accepts(long size) {
+        return maxSize > 0 && size <= maxObjectSize;
+    }
+
+    public CachedMedia getIfPresent(String objectName) {
+        CompletableFuture<CachedMedia> future = objects.getIfPresent(objectName);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return null;
+        }
+        return future.join();
+    }
+
+    public CachedMedia get(String objectName, Function<String, CachedMedia> loader) {
+        CompletableFuture<CachedMedia> pending = new CompletableFuture<>();
+        CompletableFuture<CachedMedia> future = objects.get(objectName, (key, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(objectName));
+            } catch (Throwable e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(Collection<String> objectNames) {
+        objects.synchronous().invalidateAll(objectNames);
+    }
+
+    private long weightedSize() {
+        return objects.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    /**
+     * An object's bytes in a read-only direct buffer. Readers take slices, so the buffer's own
+     * position is never moved and one entry can be served to many requests at once.
+     */
+    public record CachedMedia(ByteBuffer content, String contentType) {
+
+        public ByteBuffer slice(long offset, long length) {
+            return content.slice((int) offset, (int) length);
+        }
+    }
+}
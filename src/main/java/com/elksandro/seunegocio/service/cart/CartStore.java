@@ -0,0 +1,41 @@
+package com.elksandro.seunegocio.service.cart;
+
+import java.util.List;
+import java.util.Map;
+
+import com.elksandro.seunegocio.repository.projection.CartLineView;
+
+/**
+ * Where cart lines live. Quantities handed to a store are already validated; a quantity of
+ * zero means the line does not exist.
+ */
+public interface CartStore {
+
+    /**
+     * Adds {@code delta} to the line, creating it if needed and removing it when the result is
+     * not positive. Throws {@code ItemNotFoundException} if the item does not exist.
+     */
+    void addQuantity(Long userId, Long itemId, int delta);
+
+    /**
+     * Changes the quantity of an existing line; returns false if the cart has no such line.
+     */
+    boolean setQuantity(Long userId, Long itemId, int quantity);
+
+    boolean removeItem(Long userId, Long itemId);
+
+    /**
+     * Sets the quantity of every listed item at once; zero removes the line. The items are known
+     * to exist.
+     */
+    void applyQuantities(Long userId, Map<Long, Integer> quantities);
+
+    List<CartLineView> findLines(Long userId);
+
+    /**
+     * Makes sure {@code cart_items} holds the user's current cart, for reads that aggregate in
+     * the database instead of going through the store.
+     */
+    default void persist(Long userId) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.elksandro.seunegocio.service.cart;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.repository.CartItemBatchRepository;
+import com.elksandro.seunegocio.repository.CartItemRepository;
+import com.elksandro.seunegocio.repository.projection.CartLineView;
+import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
+
+/**
+ * Default store: every mutation is a single statement against {@code cart_items} and every read
+ * a single join query.
+ */
+@Component
+@ConditionalOnProperty(name = "api.cart-engine.enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseCartStore implements CartStore {
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String NUMERIC_VALUE_OUT_OF_RANGE = "22003";
+
+    private final CartItemRepository cartItemRepository;
+    private final CartItemBatchRepository cartItemBatchRepository;
+
+    public DatabaseCartStore(CartItemRepository cartItemRepository, CartItemBatchRepository cartItemBatchRepository) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartItemBatchRepository = cartItemBatchRepository;
+    }
+
+    @Override
+    public void addQuantity(Long userId, Long itemId, int delta) {
+        try {
+            cartItemBatchRepository.addQuantity(userId, itemId, delta);
+        } catch (DataIntegrityViolationException e) {
+            String sqlState = NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException cause
+                    ? cause.getSQLState()
+                    : null;
+            if (FOREIGN_KEY_VIOLATION.equals(sqlState)) {
+                throw new ItemNotFoundException("Item não encontrado.");
+            }
+            if (NUMERIC_VALUE_OUT_OF_RANGE.equals(sqlState)) {
+                throw new IllegalArgumentException("A quantidade do item excede o limite permitido.");
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean setQuantity(Long userId, Long itemId, int quantity) {
+        return cartItemBatchRepository.setQuantity(userId, itemId, quantity) > 0;
+    }
+
+    @Override
+    public boolean removeItem(Long userId, Long itemId) {
+        return cartItemBatchRepository.deleteItems(userId, List.of(itemId)) > 0;
+    }
+
+    @Override
+    public void applyQuantities(Long userId, Map<Long, Integer> quantities) {
+        List<Long> removedItemIds = new ArrayList<>();
+        Map<Long, Integer> upserts = new HashMap<>();
+        quantities.forEach((itemId, quantity) -> {
+            if (quantity <= 0) {
+                removedItemIds.add(itemId);
+            } else {
+                upserts.put(itemId, quantity);
+            }
+        });
+
+        cartItemBatchRepository.deleteItems(userId, removedItemIds);
+        cartItemBatchRepository.upsertQuantities(userId, upserts);
+    }
+
+    @Override
+    public List<CartLineView> findLines(Long userId) {
+        return cartItemRepository.findCartLinesByUserId(userId);
+    }
+}
@@ -0,0 +1,389 @@
+package com.elksandro.seunegocio.service.cart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.repository.CartItemBatchRepository;
+import com.elksandro.seunegocio.repository.CartItemRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.repository.projection.CartLineView;
+import com.elksandro.seunegocio.repository.projection.CartQuantityView;
+import com.elksandro.seunegocio.repository.projection.ItemSummaryView;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
+import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps active carts in memory as {@code itemId -> quantity} maps and writes them behind to
+ * {@code cart_items}. Mutations only touch memory and mark the line dirty; every flush interval
+ * the dirty lines of all carts go out in one JDBC batch, so the flush interval is the window of
+ * cart changes lost if the process dies. Carts load lazily on first access and are dropped once
+ * clean and idle. Each cart is guarded by one of a fixed set of locks picked by user id.
+ *
+ * <p>The memory copy is authoritative, so this store is only correct with a single instance or
+ * with requests routed to instances by user.
+ */
+@Component
+@ConditionalOnProperty(name = "api.cart-engine.enabled", havingValue = "true")
+public class InMemoryCartStore implements CartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryCartStore.class);
+
+    private final CartItemRepository cartItemRepository;
+    private final CartItemBatchRepository cartItemBatchRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+    private final Duration idleTimeout;
+
+    private final ReentrantLock[] stripes;
+    private final Map<Long, Cart> carts = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Counter flushedLines;
+    private final Counter failedFlushes;
+    private final Counter loads;
+    private final Counter evictions;
+    private final Timer flushTimer;
+
+    private static final class Cart {
+        final LongIntMap quantities = new LongIntMap();
+        final LongIntMap dirty = new LongIntMap();
+        long lastAccess = System.nanoTime();
+    }
+
+    public InMemoryCartStore(CartItemRepository cartItemRepository, CartItemBatchRepository cartItemBatchRepository,
+            ItemRepository itemRepository, UserRepository userRepository, CatalogCache catalogCache,
+            MeterRegistry meterRegistry,
+            @Value("${api.cart-engine.stripes}") int stripes,
+            @Value("${api.cart-engine.idle-timeout}") Duration idleTimeout) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartItemBatchRepository = cartItemBatchRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.catalogCache = catalogCache;
+        this.idleTimeout = idleTimeout;
+
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+
+        Gauge.builder("cart.engine.carts", carts, Map::size)
+                .description("Carts held in memory")
+                .register(meterRegistry);
+        this.flushedLines = Counter.builder("cart.engine.flushed").register(meterRegistry);
+        this.failedFlushes = Counter.builder("cart.engine.flush.failed").register(meterRegistry);
+        this.loads = Counter.builder("cart.engine.loads").register(meterRegistry);
+        this.evictions = Counter.builder("cart.engine.evictions").register(meterRegistry);
+        this.flushTimer = Timer.builder("cart.engine.flush").register(meterRegistry);
+    }
+
+    @Override
+    public void addQuantity(Long userId, Long itemId, int delta) {
+        if (!findSummaries(Set.of(itemId)).containsKey(itemId)) {
+            throw new ItemNotFoundException("Item não encontrado.");
+        }
+
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = cartOf(userId);
+            int quantity;
+            try {
+                quantity = Math.addExact(cart.quantities.get(itemId), delta);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("A quantidade do item excede o limite permitido.");
+            }
+            update(cart, itemId, Math.max(quantity, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean setQuantity(Long userId, Long itemId, int quantity) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = cartOf(userId);
+            if (cart.quantities.get(itemId) == 0) {
+                return false;
+            }
+            update(cart, itemId, quantity);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeItem(Long userId, Long itemId) {
+        return setQuantity(userId, itemId, 0);
+    }
+
+    @Override
+    public void applyQuantities(Long userId, Map<Long, Integer> quantities) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = cartOf(userId);
+            quantities.forEach((itemId, quantity) -> update(cart, itemId, Math.max(quantity, 0)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<CartLineView> findLines(Long userId) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = cartOf(userId);
+            cart.quantities.forEach((itemId, quantity) -> quantities.put(itemId, quantity));
+        } finally {
+            lock.unlock();
+        }
+
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, ItemSummaryView> summaries = findSummaries(quantities.keySet());
+        return quantities.entrySet().stream()
+                .filter(line -> summaries.containsKey(line.getKey()))
+                .sorted(Map.Entry.comparingByKey())
+                .map(line -> CartLineView.of(null, line.getValue(), summaries.get(line.getKey())))
+                .toList();
+    }
+
+    /**
+     * Writes the dirty lines of every cart, then drops the carts that are clean and have not
+     * been touched for the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${api.cart-engine.flush-interval}")
+    public void flush() {
+        flushTimer.record(() -> {
+            writeLock.lock();
+            try {
+                List<CartQuantityView> pending = collectDirtyLines();
+                if (!pending.isEmpty()) {
+                    write(pending);
+                }
+                evictIdle(System.nanoTime() - idleTimeout.toNanos());
+            } finally {
+                writeLock.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        writeLock.lock();
+        try {
+            List<CartQuantityView> pending = collectDirtyLines();
+            if (!pending.isEmpty()) {
+                logger.info("Gravando {} linha(s) de carrinho pendentes antes de encerrar.", pending.size());
+                write(pending);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes one cart ahead of the next flush. Shares the flush's write lock so an older snapshot
+     * of the same line can never be written after a newer one.
+     */
+    @Override
+    public void persist(Long userId) {
+        writeLock.lock();
+        try {
+            List<CartQuantityView> pending = new ArrayList<>();
+            Cart cart = carts.get(userId);
+            if (cart != null) {
+                drainDirty(userId, cart, pending);
+            }
+
+            if (!pending.isEmpty()) {
+                writeCart(userId, pending);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<CartQuantityView> collectDirtyLines() {
+        List<CartQuantityView> pending = new ArrayList<>();
+        carts.forEach((userId, cart) -> drainDirty(userId, cart, pending));
+        return pending;
+    }
+
+    private void drainDirty(Long userId, Cart cart, List<CartQuantityView> pending) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            cart.dirty.forEach((itemId, ignored) ->
+                    pending.add(new CartQuantityView(userId, itemId, cart.quantities.get(itemId))));
+            cart.dirty.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<CartQuantityView> pending) {
+        try {
+            cartItemBatchRepository.applyQuantities(pending);
+            flushedLines.increment(pending.size());
+            return;
+        } catch (RuntimeException e) {
+            logger.warn("Falha ao gravar {} linha(s) de carrinho em lote; gravando por usuário.", pending.size(), e);
+        }
+
+        Map<Long, List<CartQuantityView>> byUser = pending.stream()
+                .collect(Collectors.groupingBy(CartQuantityView::userId));
+        byUser.forEach(this::writeCart);
+    }
+
+    /**
+     * Fallback for a failed batch. Lines of deleted items and carts of deleted users can never
+     * be written, so they are dropped from memory; any other failure leaves the lines dirty for
+     * the next flush.
+     */
+    private void writeCart(Long userId, List<CartQuantityView> lines) {
+        try {
+            if (!userRepository.existsById(userId)) {
+                discardCart(userId);
+                return;
+            }
+
+            Set<Long> existing = new HashSet<>(itemRepository.findExistingIds(
+                    lines.stream().map(CartQuantityView::itemId).toList()));
+            List<CartQuantityView> writable = new ArrayList<>();
+            for (CartQuantityView line : lines) {
+                if (existing.contains(line.itemId()) || line.quantity() == 0) {
+                    writable.add(line);
+                } else {
+                    discardLine(userId, line.itemId());
+                }
+            }
+
+            cartItemBatchRepository.applyQuantities(writable);
+            flushedLines.increment(writable.size());
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            logger.error("Falha ao gravar o carrinho do usuário {}; nova tentativa no próximo ciclo.", userId, e);
+            markDirty(userId, lines);
+        }
+    }
+
+    private void markDirty(Long userId, List<CartQuantityView> lines) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = carts.get(userId);
+            if (cart != null) {
+                lines.forEach(line -> cart.dirty.put(line.itemId(), 1));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discardCart(Long userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            carts.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discardLine(Long userId, Long itemId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Cart cart = carts.get(userId);
+            if (cart != null) {
+                cart.quantities.remove(itemId);
+                cart.dirty.remove(itemId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIdle(long idleBefore) {
+        for (Map.Entry<Long, Cart> entry : carts.entrySet()) {
+            Long userId = entry.getKey();
+            ReentrantLock lock = lockFor(userId);
+            lock.lock();
+            try {
+                Cart cart = entry.getValue();
+                if (cart.dirty.isEmpty() && cart.lastAccess - idleBefore < 0 && carts.remove(userId, cart)) {
+                    evictions.increment();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Map<Long, ItemSummaryView> findSummaries(Set<Long> itemIds) {
+        return catalogCache.getItemSummaries(itemIds, missing -> itemRepository.findSummaryViewsByIdIn(Set.copyOf(missing))
+                .stream()
+                .collect(Collectors.toMap(ItemSummaryView::id, summary -> summary)));
+    }
+
+    /**
+     * Must be called while holding the cart's stripe lock, which also serializes the lazy load.
+     */
+    private Cart cartOf(Long userId) {
+        Cart cart = carts.get(userId);
+        if (cart == null) {
+            cart = new Cart();
+            for (CartQuantityView line : cartItemRepository.findQuantitiesByUserId(userId)) {
+                cart.quantities.put(line.itemId(), line.quantity());
+            }
+            carts.put(userId, cart);
+            loads.increment();
+        }
+        cart.lastAccess = System.nanoTime();
+        return cart;
+    }
+
+    private static void update(Cart cart, Long itemId, int quantity) {
+        if (cart.quantities.put(itemId, quantity) != quantity) {
+            cart.dirty.put(itemId, 1);
+        }
+    }
+
+    private ReentrantLock lockFor(Long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (hash ^ (hash >>> 32)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,152 @@
+package com.elksandro.seunegocio.service.cart;
+
+/**
+ * Open-addressing map from positive {@code long} keys to {@code int} values, stored in two
+ * parallel arrays so a cart of a dozen lines costs two small arrays instead of a dozen boxed
+ * entries. Zero is both the empty-slot key and the "absent" value: storing zero removes the key.
+ * Not thread-safe.
+ */
+final class LongIntMap {
+
+    @FunctionalInterface
+    interface Consumer {
+        void accept(long key, int value);
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Stores the value and returns the previous one; a value of zero removes the key.
+     */
+    int put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Chave inválida: " + key);
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        int previous = values[slot];
+        if (keys[slot] == key) {
+            if (value == 0) {
+                removeAt(slot);
+            } else {
+                values[slot] = value;
+            }
+            return previous;
+        }
+
+        if (value != 0) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > keys.length / 2) {
+                rehash(keys.length * 2);
+            }
+        }
+        return 0;
+    }
+
+    int remove(long key) {
+        return put(key, 0);
+    }
+
+    void clear() {
+        if (size > 0) {
+            allocate(MIN_CAPACITY);
+        }
+    }
+
+    void forEach(Consumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Backward-shift deletion: walks the probe run after the freed slot and pulls back every
+     * entry whose home slot lies at or before the gap, so lookups never need tombstones.
+     */
+    private void removeAt(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == 0) {
+                break;
+            }
+
+            int home = slot(key);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+
+        keys[gap] = 0;
+        values[gap] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
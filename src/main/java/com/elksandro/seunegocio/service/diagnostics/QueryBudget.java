@@ -0,0 +1,22 @@
+package com.elksandro.seunegocio.service.diagnostics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements one request to the annotated endpoint may run. A budget that does not
+ * depend on page or cart size is what keeps {@code convertToResponse} chains from turning into
+ * N+1 queries. Authenticated endpoints also pay for the token revocation lookup the security
+ * filter makes when the user's epoch is not cached. Endpoints without it get
+ * {@code api.query-budget.default}.
+ */
+@Documented
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,115 @@
+package com.elksandro.seunegocio.service.diagnostics;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a {@link QueryCounter} scope around every request, ahead of the security filter chain so
+ * the token revocation lookup is counted too, and checks it against the endpoint's
+ * {@link QueryBudget} once the handler is known. In {@code log} mode requests over budget are
+ * logged; in {@code reject} mode the statement that crosses the budget fails, rolling the request
+ * back. The count of every request that reached a budgeted handler is recorded in
+ * {@code http.server.requests.queries}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryBudgetInterceptor extends OncePerRequestFilter implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+    private static final String BUDGETED_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".budgeted";
+
+    public enum Mode { OFF, LOG, REJECT }
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+    private final int defaultBudget;
+
+    public QueryBudgetInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry,
+            @Value("${api.query-budget.mode}") Mode mode,
+            @Value("${api.query-budget.default}") int defaultBudget) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return mode == Mode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = queryCounter.open();
+        request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            if (request.getAttribute(BUDGETED_ATTRIBUTE) != null) {
+                request.removeAttribute(BUDGETED_ATTRIBUTE);
+                record(request, scope);
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !(request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryCounter.Scope scope)) {
+            return true;
+        }
+
+        request.setAttribute(BUDGETED_ATTRIBUTE, Boolean.TRUE);
+        scope.limit(budgetOf(handlerMethod), mode == Mode.REJECT);
+        return true;
+    }
+
+    private void record(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements run per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.statements());
+
+        if (scope.overBudget()) {
+            logger.warn("{} {} executou {} consultas SQL (limite {}).",
+                    request.getMethod(), uri, scope.statements(), scope.budget());
+        }
+    }
+
+    private int budgetOf(HandlerMethod handlerMethod) {
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
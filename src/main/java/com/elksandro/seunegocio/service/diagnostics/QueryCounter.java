@@ -0,0 +1,176 @@
+package com.elksandro.seunegocio.service.diagnostics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.service.exception.QueryBudgetExceededException;
+
+/**
+ * Counts the SQL statements prepared on the current thread while a {@link Scope} is open. Every
+ * {@link DataSource} bean is wrapped, so statements from JPA, {@code JdbcTemplate} and the
+ * security filter are all counted; a JDBC batch counts once. Requests run on one thread from
+ * filter to response, so a scope per request counts exactly that request; statements from
+ * other threads are never attributed to it.
+ *
+ * <p>Scopes nest: closing a scope reports its count to the enclosing one, which is how a test
+ * collects the count of every request it makes.
+ */
+@Component
+public class QueryCounter implements BeanPostProcessor {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+    }
+
+    private static void count() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count();
+        }
+    }
+
+    public Scope open() {
+        return open(Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Opens a scope on the current thread. When {@code enforce} is set, the statement that goes
+     * over the budget fails with {@link QueryBudgetExceededException} instead of running.
+     */
+    public Scope open(int budget, boolean enforce) {
+        Scope scope = new Scope(CURRENT.get(), budget, enforce);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Hands out connections that count the statements they prepare. Closing it closes the
+     * wrapped pool, since the container destroys this wrapper in the pool's place.
+     */
+    private static final class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+        private CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        @Override
+        public void close() throws Exception {
+            if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+
+        private static Connection counting(Connection connection) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                if (STATEMENT_METHODS.contains(method.getName())) {
+                    count();
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, handler);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int budget;
+        private boolean enforce;
+        private final List<Integer> nested = new ArrayList<>();
+        private int statements;
+        private boolean closed;
+
+        private Scope(Scope parent, int budget, boolean enforce) {
+            this.parent = parent;
+            this.budget = budget;
+            this.enforce = enforce;
+        }
+
+        private void count() {
+            statements++;
+            check();
+        }
+
+        /**
+         * Sets the budget once it is known, after statements may already have run. When
+         * {@code enforce} is set and the scope is already over it, this call fails instead.
+         */
+        public void limit(int budget, boolean enforce) {
+            this.budget = budget;
+            this.enforce = enforce;
+            check();
+        }
+
+        private void check() {
+            if (enforce && statements > budget) {
+                throw new QueryBudgetExceededException(
+                        "A requisição excedeu o limite de " + budget + " consultas SQL.");
+            }
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean overBudget() {
+            return statements > budget;
+        }
+
+        /**
+         * Counts of the scopes opened and closed inside this one, in closing order.
+         */
+        public List<Integer> nested() {
+            return List.copyOf(nested);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (parent != null) {
+                parent.nested.add(statements);
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.elksandro.seunegocio.service.etag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Strong entity tags derived from the version columns a response is built from, so a
+ * representation can be validated without building or serializing it.
+ */
+public final class ETags {
+
+    /**
+     * Bump whenever the JSON shape of the tagged responses changes, so clients holding a
+     * tag for the old representation download the new one.
+     */
+    private static final String REPRESENTATION_VERSION = "4";
+
+    private ETags() {
+    }
+
+    public static String of(String resource, List<?> versions) {
+        StringBuilder source = new StringBuilder(REPRESENTATION_VERSION).append('|').append(resource);
+        for (Object version : versions) {
+            source.append('|').append(version);
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean matches(String ifMatch, String eTag) {
+        if (ifMatch == null) {
+            return true;
+        }
+
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
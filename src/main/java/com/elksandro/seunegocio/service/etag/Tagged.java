@@ -0,0 +1,3 @@
+package com.elksandro.seunegocio.service.etag;
+
+public record Tagged<T>(T body, String eTag) {}
@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.service.exception;
+
+public class MediaTooLargeException extends RuntimeException {
+    public MediaTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.service.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.elksandro.seunegocio.service.exception;
+
+public class UploadNotFoundException extends RuntimeException {
+    public UploadNotFoundException(String message) {
+        super(message);
+    }
+}
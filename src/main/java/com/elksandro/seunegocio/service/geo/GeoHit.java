@@ -0,0 +1,3 @@
+package com.elksandro.seunegocio.service.geo;
+
+public record GeoHit(GeoPoint point, double distanceMeters) {}
@@ -0,0 +1,234 @@
+package com.elksandro.seunegocio.service.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.projection.BusinessLocationView;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory grid of business locations. The globe is split into cells of {@value #CELL_DEGREES}
+ * degrees; a query scans rings of cells around the query point, nearest ring first, and stops
+ * as soon as no unscanned cell can hold a closer business than the ones already found.
+ */
+@Component
+public class GeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoIndex.class);
+
+    static final double CELL_DEGREES = 0.02;
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    private static final Comparator<GeoHit> BY_DISTANCE = Comparator.comparingDouble(GeoHit::distanceMeters)
+            .thenComparingLong(hit -> hit.point().businessId());
+
+    private final BusinessRepository businessRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, GeoPoint> points = new HashMap<>();
+    private final Map<Long, List<GeoPoint>> cells = new HashMap<>();
+
+    public GeoIndex(BusinessRepository businessRepository) {
+        this.businessRepository = businessRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<BusinessLocationView> locations = businessRepository.findLocations();
+
+        lock.writeLock().lock();
+        try {
+            points.clear();
+            cells.clear();
+            for (BusinessLocationView location : locations) {
+                add(new GeoPoint(location.id(), location.latitude(), location.longitude(), location.categoryType()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice geográfico carregado com {} negócio(s).", locations.size());
+    }
+
+    public void put(Long businessId, Double latitude, Double longitude, CategoryType categoryType) {
+        lock.writeLock().lock();
+        try {
+            remove(businessId);
+            if (latitude != null && longitude != null) {
+                add(new GeoPoint(businessId, latitude, longitude, categoryType));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<Long> businessIds) {
+        lock.writeLock().lock();
+        try {
+            businessIds.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} businesses within {@code radiusMeters} of the given point,
+     * nearest first, optionally restricted to one category.
+     *
+     * <p>The scan covers the cells of the bounding box of the circle. Longitude cells shrink
+     * towards the poles, so the box is capped at one full turn of longitude. When the box still
+     * holds more cells than there are businesses, they are checked directly instead.
+     */
+    public List<GeoHit> nearest(double latitude, double longitude, double radiusMeters, int limit,
+            CategoryType categoryType) {
+        int centerLatCell = latitudeCell(latitude);
+        int centerLngCell = longitudeCell(longitude);
+        double latitudeSpan = CELL_DEGREES * METERS_PER_DEGREE;
+        double longitudeSpan = minimumLongitudeSpanMeters(latitude, radiusMeters);
+        double cellSpan = Math.min(latitudeSpan, longitudeSpan);
+
+        int latRange = (int) Math.ceil(radiusMeters / latitudeSpan) + 1;
+        int lngRange = longitudeSpan > 0
+                ? (int) Math.min(Math.ceil(radiusMeters / longitudeSpan) + 1, LONGITUDE_CELLS)
+                : LONGITUDE_CELLS;
+        int lngWest = Math.min(lngRange, LONGITUDE_CELLS / 2);
+        int lngEast = Math.min(lngRange, LONGITUDE_CELLS - lngWest - 1);
+        long boxCells = (2L * latRange + 1) * (lngWest + lngEast + 1);
+
+        PriorityQueue<GeoHit> best = new PriorityQueue<>(limit + 1, BY_DISTANCE.reversed());
+
+        lock.readLock().lock();
+        try {
+            if (boxCells > points.size()) {
+                for (GeoPoint point : points.values()) {
+                    offer(best, limit, point, latitude, longitude, radiusMeters, categoryType);
+                }
+            } else {
+                int maxRing = Math.max(latRange, Math.max(lngWest, lngEast));
+                for (int ring = 0; ring <= maxRing; ring++) {
+                    double closestPossible = Math.max(0, ring - 1) * cellSpan;
+                    if (closestPossible > radiusMeters) {
+                        break;
+                    }
+                    if (best.size() == limit && best.peek().distanceMeters() <= closestPossible) {
+                        break;
+                    }
+
+                    int latReach = Math.min(ring, latRange);
+                    for (int dLat = -latReach; dLat <= latReach; dLat++) {
+                        if (Math.abs(dLat) == ring) {
+                            for (int dLng = -Math.min(ring, lngWest); dLng <= Math.min(ring, lngEast); dLng++) {
+                                scanCell(best, limit, centerLatCell + dLat, centerLngCell + dLng,
+                                        latitude, longitude, radiusMeters, categoryType);
+                            }
+                        } else if (ring > 0) {
+                            if (ring <= lngWest) {
+                                scanCell(best, limit, centerLatCell + dLat, centerLngCell - ring,
+                                        latitude, longitude, radiusMeters, categoryType);
+                            }
+                            if (ring <= lngEast) {
+                                scanCell(best, limit, centerLatCell + dLat, centerLngCell + ring,
+                                        latitude, longitude, radiusMeters, categoryType);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<GeoHit> hits = new ArrayList<>(best);
+        hits.sort(BY_DISTANCE);
+        return hits;
+    }
+
+    private void scanCell(PriorityQueue<GeoHit> best, int limit, int latitudeCell, int longitudeCell,
+            double latitude, double longitude, double radiusMeters, CategoryType categoryType) {
+        List<GeoPoint> cell = cells.get(cellKey(latitudeCell, longitudeCell));
+        if (cell == null) {
+            return;
+        }
+
+        for (GeoPoint point : cell) {
+            offer(best, limit, point, latitude, longitude, radiusMeters, categoryType);
+        }
+    }
+
+    private static void offer(PriorityQueue<GeoHit> best, int limit, GeoPoint point, double latitude,
+            double longitude, double radiusMeters, CategoryType categoryType) {
+        if (categoryType != null && point.categoryType() != categoryType) {
+            return;
+        }
+
+        double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+        if (distance <= radiusMeters) {
+            best.add(new GeoHit(point, distance));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void add(GeoPoint point) {
+        points.put(point.businessId(), point);
+        cells.computeIfAbsent(cellKey(latitudeCell(point.latitude()), longitudeCell(point.longitude())),
+                key -> new ArrayList<>()).add(point);
+    }
+
+    private void remove(Long businessId) {
+        GeoPoint point = points.remove(businessId);
+        if (point == null) {
+            return;
+        }
+
+        long key = cellKey(latitudeCell(point.latitude()), longitudeCell(point.longitude()));
+        List<GeoPoint> cell = cells.get(key);
+        cell.remove(point);
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * Width of a longitude cell at the latitude of the box farthest from the equator; zero when
+     * the circle reaches a pole.
+     */
+    private static double minimumLongitudeSpanMeters(double latitude, double radiusMeters) {
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + radiusMeters / METERS_PER_DEGREE);
+        return Math.max(0, CELL_DEGREES * METERS_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude)));
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell) {
+        return ((long) latitudeCell << 32) | Math.floorMod(longitudeCell, LONGITUDE_CELLS);
+    }
+}
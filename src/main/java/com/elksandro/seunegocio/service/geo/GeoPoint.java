@@ -0,0 +1,5 @@
+package com.elksandro.seunegocio.service.geo;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+
+public record GeoPoint(long businessId, double latitude, double longitude, CategoryType categoryType) {}
@@ -0,0 +1,211 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.w3c.dom.Node;
+
+/**
+ * Decodes an uploaded image once and re-encodes it into every {@link ImageVariant}. The EXIF
+ * orientation of camera photos is applied to the pixels, and since only pixels are written
+ * back, all metadata (EXIF, GPS, ICC comments) is dropped. Images with transparency become
+ * PNG, everything else JPEG. The source is read and the variants written through memory caches
+ * rather than ImageIO's default temp-file cache, so rendering never touches local disk.
+ */
+public final class ImageDerivatives {
+
+    private static final long MAX_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final int EXIF_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    public record Rendered(ImageVariant variant, byte[] bytes, String contentType) {}
+
+    private ImageDerivatives() {
+    }
+
+    public static List<Rendered> render(InputStream source) throws IOException {
+        BufferedImage image = orient(read(source));
+        boolean alpha = image.getColorModel().hasAlpha();
+
+        List<Rendered> rendered = new ArrayList<>();
+        for (ImageVariant variant : List.of(ImageVariant.FULL, ImageVariant.CARD, ImageVariant.THUMBNAIL)) {
+            image = scaleToFit(image, variant.getMaxDimension());
+            rendered.add(alpha
+                    ? new Rendered(variant, encodePng(image), "image/png")
+                    : new Rendered(variant, encodeJpeg(image), "image/jpeg"));
+        }
+        return rendered;
+    }
+
+    private record Decoded(BufferedImage image, int orientation) {}
+
+    private static Decoded read(InputStream source) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(source)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagem não suportado.");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IOException("A imagem excede o limite de " + MAX_PIXELS + " pixels.");
+                }
+
+                BufferedImage image = reader.read(0);
+                int orientation = "jpeg".equalsIgnoreCase(reader.getFormatName())
+                        ? exifOrientation(reader.getImageMetadata(0))
+                        : 1;
+                return new Decoded(image, orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int exifOrientation(IIOMetadata metadata) {
+        try {
+            Node markers = metadata.getAsTree("javax_imageio_jpeg_image_1.0").getLastChild();
+            for (Node marker = markers.getFirstChild(); marker != null; marker = marker.getNextSibling()) {
+                Node tag = marker.getAttributes() == null ? null : marker.getAttributes().getNamedItem("MarkerTag");
+                if (tag != null && Integer.parseInt(tag.getNodeValue()) == EXIF_MARKER
+                        && marker instanceof IIOMetadataNode node
+                        && node.getUserObject() instanceof byte[] payload) {
+                    return readOrientation(payload);
+                }
+            }
+        } catch (RuntimeException e) {
+            return 1;
+        }
+        return 1;
+    }
+
+    private static int readOrientation(byte[] payload) {
+        if (payload.length < 14 || !new String(payload, 0, 4, StandardCharsets.US_ASCII).equals("Exif")) {
+            return 1;
+        }
+
+        ByteBuffer tiff = ByteBuffer.wrap(payload, 6, payload.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifd = tiff.getInt(4);
+        int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static BufferedImage orient(Decoded decoded) {
+        BufferedImage source = decoded.image();
+        int w = source.getWidth();
+        int h = source.getHeight();
+
+        AffineTransform transform = switch (decoded.orientation()) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> new AffineTransform();
+        };
+        boolean swapsAxes = decoded.orientation() >= 5;
+
+        BufferedImage oriented = new BufferedImage(swapsAxes ? h : w, swapsAxes ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    private static BufferedImage scaleToFit(BufferedImage source, int maxDimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (Math.max(width, height) <= maxDimension) {
+            return source;
+        }
+
+        double ratio = (double) maxDimension / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return resize(current, targetWidth, targetHeight);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, source.getType());
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            ImageIO.write(image, "png", output);
+        }
+        return bytes.toByteArray();
+    }
+}
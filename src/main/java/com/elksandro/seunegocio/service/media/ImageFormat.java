@@ -0,0 +1,42 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.util.Arrays;
+
+public enum ImageFormat {
+    JPEG("image/jpeg", new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }),
+    PNG("image/png", new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' }),
+    GIF("image/gif", new byte[] { 'G', 'I', 'F', '8' });
+
+    public static final int SNIFF_LENGTH = 8;
+
+    private final String contentType;
+    private final byte[] signature;
+
+    ImageFormat(String contentType, byte[] signature) {
+        this.contentType = contentType;
+        this.signature = signature;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ImageFormat fromContentType(String contentType) {
+        for (ImageFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    public static ImageFormat sniff(byte[] header) {
+        for (ImageFormat format : values()) {
+            if (header.length >= format.signature.length
+                    && Arrays.equals(header, 0, format.signature.length, format.signature, 0, format.signature.length)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public enum ImageVariant {
+    THUMBNAIL("thumb", 160),
+    CARD("card", 480),
+    FULL("full", 1280);
+
+    public static final String KEY_PREFIX = "img/";
+
+    /** Keys written before variants existed: {@code <uuid>-<original file name>} at the bucket root. */
+    private static final Pattern LEGACY_KEY = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}-[^/]+");
+
+    private final String suffix;
+    private final int maxDimension;
+
+    ImageVariant(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String objectName(String imageKey) {
+        return imageKey + "/" + suffix;
+    }
+
+    public static boolean hasVariants(String imageKey) {
+        return imageKey.startsWith(KEY_PREFIX);
+    }
+
+    public static List<String> objectNames(String imageKey) {
+        if (!hasVariants(imageKey)) {
+            return List.of(imageKey);
+        }
+        return Arrays.stream(values()).map(variant -> variant.objectName(imageKey)).toList();
+    }
+
+    /**
+     * Whether the object is an image the API publishes: one variant of an {@code img/} key, or a
+     * legacy key. Anything else, {@code incoming/} uploads included, is never served.
+     */
+    public static boolean isPublished(String objectName) {
+        if (!hasVariants(objectName)) {
+            return LEGACY_KEY.matcher(objectName).matches();
+        }
+
+        int slash = objectName.lastIndexOf('/');
+        if (slash <= KEY_PREFIX.length() || objectName.indexOf('/', KEY_PREFIX.length()) != slash) {
+            return false;
+        }
+        String suffix = objectName.substring(slash + 1);
+        return Arrays.stream(values()).anyMatch(variant -> variant.suffix.equals(suffix));
+    }
+
+    public static String imageKeyOf(String objectName) {
+        int slash = objectName.lastIndexOf('/');
+        return hasVariants(objectName) && slash >= KEY_PREFIX.length() ? objectName.substring(0, slash) : objectName;
+    }
+}
@@ -0,0 +1,112 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.elksandro.seunegocio.service.cache.MediaCache;
+import com.elksandro.seunegocio.service.cache.MediaCache.CachedMedia;
+import com.elksandro.seunegocio.service.etag.ETags;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+
+/**
+ * Looks up and copies out the objects behind {@code /media/**}. Objects small enough for the
+ * {@link MediaCache} are read from storage once and then served from their direct buffer.
+ *
+ * <p>Only published image keys are served, and the content type comes from the object's first
+ * bytes rather than the metadata stored with it, which for direct uploads is whatever the
+ * client declared. Objects that do not start like a supported image are not found.
+ */
+@Service
+public class MediaDeliveryService {
+
+    private final ObjectStorage objectStorage;
+    private final MediaCache mediaCache;
+
+    public MediaDeliveryService(ObjectStorage objectStorage, MediaCache mediaCache) {
+        this.objectStorage = objectStorage;
+        this.mediaCache = mediaCache;
+    }
+
+    public Optional<MediaObject> find(String objectName) {
+        if (objectName == null || !ImageVariant.isPublished(objectName)) {
+            return Optional.empty();
+        }
+
+        CachedMedia cached = mediaCache.getIfPresent(objectName);
+        if (cached != null) {
+            return Optional.of(new MediaObject(objectName, cached.content().capacity(), cached.contentType(),
+                    eTag(objectName, cached.content().capacity())));
+        }
+
+        return objectStorage.statObject(objectName)
+                .flatMap(stored -> sniff(objectName, stored.size())
+                        .map(format -> new MediaObject(objectName, stored.size(), format.getContentType(),
+                                eTag(objectName, stored.size()))));
+    }
+
+    private Optional<ImageFormat> sniff(String objectName, long size) {
+        if (size <= 0) {
+            return Optional.empty();
+        }
+
+        try (InputStream stream = objectStorage.getObject(objectName, 0, Math.min(size, ImageFormat.SNIFF_LENGTH))) {
+            return Optional.ofNullable(ImageFormat.sniff(stream.readNBytes(ImageFormat.SNIFF_LENGTH)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    /**
+     * The file holding the object, when storage keeps it on local disk; such objects are better
+     * left to the kernel's page cache than copied into the {@link MediaCache}.
+     */
+    public Optional<Path> localFile(MediaObject media) {
+        return objectStorage.localFile(media.objectName());
+    }
+
+    public void transferTo(MediaObject media, long offset, long length, WritableByteChannel target)
+            throws IOException {
+        if (!mediaCache.accepts(media.size())) {
+            objectStorage.transferTo(media.objectName(), offset, length, target);
+            return;
+        }
+
+        ByteBuffer slice = mediaCache.get(media.objectName(), objectName -> load(media)).slice(offset, length);
+        while (slice.hasRemaining()) {
+            target.write(slice);
+        }
+    }
+
+    private CachedMedia load(MediaObject media) {
+        ByteBuffer content = ByteBuffer.allocateDirect((int) media.size());
+        try (InputStream stream = objectStorage.getObject(media.objectName());
+                ReadableByteChannel source = Channels.newChannel(stream)) {
+            while (content.hasRemaining() && source.read(content) >= 0) {
+                // keep reading until the buffer is full or the object ends
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo '" + media.objectName() + "'", e);
+        }
+
+        if (content.hasRemaining()) {
+            throw new IllegalStateException("O arquivo '" + media.objectName() + "' terminou antes do tamanho informado.");
+        }
+        return new CachedMedia(content.flip().asReadOnlyBuffer(), media.contentType());
+    }
+
+    private static String eTag(String objectName, long size) {
+        return ETags.of("media/" + objectName, List.of(size));
+    }
+
+    public record MediaObject(String objectName, long size, String contentType, String eTag) {}
+}
@@ -0,0 +1,18 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.nio.file.Path;
+
+/**
+ * Where the bytes of an accepted upload wait until the derivative stage reads them: a file
+ * staged by the multipart endpoints, or an object in the {@code incoming/} prefix of the bucket,
+ * written either by the raw-body endpoints or directly by the client through a presigned URL.
+ */
+public sealed interface MediaSource {
+
+    record StagedFile(Path file) implements MediaSource {}
+
+    record IncomingObject(String objectName) implements MediaSource {
+
+        public static final String PREFIX = "incoming/";
+    }
+}
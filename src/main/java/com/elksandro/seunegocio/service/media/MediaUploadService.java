@@ -0,0 +1,440 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.elksandro.seunegocio.model.enums.MediaSlot;
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.repository.projection.PendingMediaView;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
+import com.elksandro.seunegocio.service.exception.MediaTooLargeException;
+import com.elksandro.seunegocio.service.media.MediaSource.IncomingObject;
+import com.elksandro.seunegocio.service.media.MediaSource.StagedFile;
+import com.elksandro.seunegocio.service.storage.StorageOutbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves media uploads off the request thread. The request either stages the multipart bytes on
+ * local disk or, on the raw-body endpoints, streams them straight into the {@code incoming/}
+ * prefix of the bucket, and persists the entity with the new key as pending; the image is then decoded once and
+ * resized into its {@link ImageVariant}s on a fixed pool of {@code resize-threads}, and the
+ * variants are sent to storage from a virtual thread, at most {@code max-concurrency} uploads
+ * at a time, retrying transient failures. When it finishes, the pending key is promoted (or the slot
+ * marked as failed) with a conditional update, so an upload that was superseded or whose entity
+ * was deleted in the meantime only removes its own objects. Replaced and discarded images go
+ * through the storage outbox in the same transaction as the update.
+ *
+ * <p>Uploads in flight when the process stops leave their row pending and their staged file
+ * behind. {@link #reconcile()} marks rows pending for longer than {@code stale-after} as failed
+ * (the source is gone, so the client has to send the image again) and removes staged files as
+ * old; at startup every staged file is removed, since no upload of this process can own it.
+ * Variants already written for a failed key are left to the storage sweeper.
+ */
+@Service
+public class MediaUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaUploadService.class);
+
+    private static final String STAGED_PREFIX = "upload-";
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private static final String UNSUPPORTED_FORMAT = "Formato de imagem não suportado. Envie JPEG, PNG ou GIF.";
+
+    private final ObjectStorage objectStorage;
+    private final BusinessRepository businessRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CatalogCache catalogCache;
+    private final StorageOutbox storageOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path stagingDirectory;
+    private final long maxSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration staleAfter;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService resizePool;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer resizeTimer;
+    private final Counter retries;
+
+    public MediaUploadService(ObjectStorage objectStorage, BusinessRepository businessRepository,
+            ItemRepository itemRepository, UserRepository userRepository, CatalogCache catalogCache,
+            StorageOutbox storageOutbox, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Value("${api.media-upload.staging-directory}") Path stagingDirectory,
+            @Value("${api.media-upload.max-size}") DataSize maxSize,
+            @Value("${api.media-upload.max-concurrency}") int maxConcurrency,
+            @Value("${api.media-upload.max-attempts}") int maxAttempts,
+            @Value("${api.media-upload.retry-backoff}") Duration retryBackoff,
+            @Value("${api.media-upload.resize-threads}") int resizeThreads,
+            @Value("${api.media-upload.stale-after}") Duration staleAfter) {
+        this.objectStorage = objectStorage;
+        this.businessRepository = businessRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.catalogCache = catalogCache;
+        this.storageOutbox = storageOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.stagingDirectory = stagingDirectory;
+        this.maxSize = maxSize.toBytes();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.staleAfter = staleAfter;
+        this.permits = new Semaphore(maxConcurrency);
+        this.resizePool = Executors.newFixedThreadPool(
+                resizeThreads > 0 ? resizeThreads : Runtime.getRuntime().availableProcessors());
+
+        Gauge.builder("media.upload.queued", queued, AtomicInteger::get)
+                .description("Uploads staged and waiting for a storage slot")
+                .register(meterRegistry);
+        Gauge.builder("media.upload.in-flight", inFlight, AtomicInteger::get)
+                .description("Uploads currently being sent to storage")
+                .register(meterRegistry);
+        this.successTimer = Timer.builder("media.upload").tag("outcome", "success").register(meterRegistry);
+        this.failureTimer = Timer.builder("media.upload").tag("outcome", "failure").register(meterRegistry);
+        this.resizeTimer = Timer.builder("media.resize").register(meterRegistry);
+        this.retries = Counter.builder("media.upload.retries").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(stagingDirectory);
+        removeStagedFiles(Instant.MAX);
+    }
+
+    @Scheduled(fixedDelayString = "${api.media-upload.reconcile-interval}")
+    public void reconcile() {
+        Instant cutoff = Instant.now().minus(staleAfter);
+
+        int failed = 0;
+        for (MediaSlot slot : MediaSlot.values()) {
+            List<PendingMediaView> stale;
+            do {
+                stale = findStalePending(slot, cutoff);
+                for (PendingMediaView pending : stale) {
+                    if (fail(pending.pendingKey(), slot, pending.id())) {
+                        failed++;
+                    }
+                }
+            } while (stale.size() == RECONCILE_BATCH_SIZE);
+        }
+
+        int removed = removeStagedFiles(cutoff);
+        if (failed > 0 || removed > 0) {
+            logger.info("Reconciliação de mídia: {} upload(s) pendente(s) marcado(s) como falha, "
+                    + "{} arquivo(s) temporário(s) removido(s).", failed, removed);
+        }
+    }
+
+    private List<PendingMediaView> findStalePending(MediaSlot slot, Instant cutoff) {
+        PageRequest page = PageRequest.of(0, RECONCILE_BATCH_SIZE);
+        return switch (slot) {
+            case BUSINESS_LOGO -> businessRepository.findStalePendingLogos(cutoff, page);
+            case ITEM_IMAGE -> itemRepository.findStalePendingImages(cutoff, page);
+            case USER_PROFILE_PICTURE -> userRepository.findStalePendingProfilePictures(cutoff, page);
+        };
+    }
+
+    private int removeStagedFiles(Instant modifiedBefore) {
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(stagingDirectory, STAGED_PREFIX + "*")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(modifiedBefore)
+                            && Files.deleteIfExists(file)) {
+                        removed++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Não foi possível remover o arquivo temporário '{}': {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Não foi possível listar '{}': {}", stagingDirectory, e.getMessage());
+        }
+        return removed;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("{} upload(s) de mídia não concluído(s) no desligamento.", queued.get() + inFlight.get());
+        }
+        resizePool.shutdownNow();
+    }
+
+    public StagedUpload stage(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            if (ImageFormat.sniff(input.readNBytes(ImageFormat.SNIFF_LENGTH)) == null) {
+                throw new IllegalArgumentException(UNSUPPORTED_FORMAT);
+            }
+        }
+
+        Path staged = Files.createTempFile(stagingDirectory, STAGED_PREFIX, ".tmp");
+        try {
+            file.transferTo(staged);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+
+        return new StagedUpload(ImageVariant.KEY_PREFIX + UUID.randomUUID(), new StagedFile(staged));
+    }
+
+    /**
+     * Pipes a raw request body into a multipart upload under {@code incoming/} without buffering
+     * it locally. The format is checked on the first bytes and the size against the declared
+     * length before anything is sent; bodies without a length are cut off at {@code max-size}.
+     */
+    public StagedUpload ingest(InputStream body, long contentLength) throws IOException {
+        checkSize(contentLength);
+
+        byte[] header = body.readNBytes(ImageFormat.SNIFF_LENGTH);
+        ImageFormat format = ImageFormat.sniff(header);
+        if (format == null) {
+            throw new IllegalArgumentException(UNSUPPORTED_FORMAT);
+        }
+
+        String objectName = IncomingObject.PREFIX + UUID.randomUUID();
+        LimitedInputStream limited = new LimitedInputStream(
+                new SequenceInputStream(new ByteArrayInputStream(header), body), maxSize);
+        try {
+            objectStorage.putObject(objectName, limited, -1, format.getContentType());
+        } catch (RuntimeException e) {
+            if (limited.exceeded()) {
+                throw new MediaTooLargeException(tooLargeMessage());
+            }
+            throw e;
+        }
+
+        return new StagedUpload(ImageVariant.KEY_PREFIX + UUID.randomUUID(), new IncomingObject(objectName));
+    }
+
+    /**
+     * Takes over an object the client wrote to {@code incoming/} on its own, after it has been
+     * checked, as the source of a new upload.
+     */
+    public StagedUpload adopt(String incomingObjectName) {
+        return new StagedUpload(ImageVariant.KEY_PREFIX + UUID.randomUUID(), new IncomingObject(incomingObjectName));
+    }
+
+    public void checkSize(long size) {
+        if (size > maxSize) {
+            throw new MediaTooLargeException(tooLargeMessage());
+        }
+    }
+
+    public void discard(StagedUpload upload) {
+        if (upload == null) {
+            return;
+        }
+
+        switch (upload.source()) {
+            case StagedFile staged -> {
+                try {
+                    Files.deleteIfExists(staged.file());
+                } catch (IOException e) {
+                    logger.warn("Não foi possível remover o arquivo temporário '{}': {}", staged.file(), e.getMessage());
+                }
+            }
+            case IncomingObject incoming -> {
+                try {
+                    objectStorage.deleteObject(incoming.objectName());
+                } catch (RuntimeException e) {
+                    logger.warn("Não foi possível remover o envio '{}': {}", incoming.objectName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private InputStream open(MediaSource source) throws IOException {
+        return switch (source) {
+            case StagedFile staged -> Files.newInputStream(staged.file());
+            case IncomingObject incoming -> objectStorage.getObject(incoming.objectName());
+        };
+    }
+
+    private String tooLargeMessage() {
+        return "A imagem excede o limite de " + DataSize.ofBytes(maxSize).toMegabytes() + " MB.";
+    }
+
+    public void submit(StagedUpload upload, MediaSlot slot, Long ownerId) {
+        queued.incrementAndGet();
+        executor.execute(() -> upload(upload, slot, ownerId));
+    }
+
+    private void upload(StagedUpload upload, MediaSlot slot, Long ownerId) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            discard(upload);
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (store(upload)) {
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                complete(upload.objectKey(), slot, ownerId);
+            } else {
+                failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                fail(upload.objectKey(), slot, ownerId);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao concluir o upload '{}': {}", upload.objectKey(), e.getMessage(), e);
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+            discard(upload);
+        }
+    }
+
+    private boolean store(StagedUpload upload) {
+        List<ImageDerivatives.Rendered> variants;
+        try {
+            long start = System.nanoTime();
+            variants = resizePool.submit(() -> {
+                try (InputStream source = open(upload.source())) {
+                    return ImageDerivatives.render(source);
+                }
+            }).get();
+            resizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            logger.error("Não foi possível processar a imagem '{}': {}", upload.objectKey(), e.getCause().getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        for (ImageDerivatives.Rendered variant : variants) {
+            if (!send(variant.variant().objectName(upload.objectKey()), variant.bytes(), variant.contentType())) {
+                try {
+                    objectStorage.deleteImage(upload.objectKey());
+                } catch (RuntimeException e) {
+                    logger.warn("Variantes parciais de '{}' não removidas: {}", upload.objectKey(), e.getMessage());
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean send(String objectName, byte[] bytes, String contentType) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                objectStorage.putObject(objectName, new ByteArrayInputStream(bytes), bytes.length, contentType);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    logger.error("Upload '{}' falhou após {} tentativa(s).", objectName, attempt);
+                    return false;
+                }
+
+                retries.increment();
+                try {
+                    Thread.sleep(retryBackoff.multipliedBy(1L << (attempt - 1)));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void complete(String objectKey, MediaSlot slot, Long ownerId) {
+        Boolean promoted = transactionTemplate.execute(status -> {
+            String previousKey = switch (slot) {
+                case BUSINESS_LOGO -> businessRepository.findLogoKeyById(ownerId);
+                case ITEM_IMAGE -> itemRepository.findImageKeyById(ownerId);
+                case USER_PROFILE_PICTURE -> userRepository.findProfilePictureKeyById(ownerId);
+            };
+
+            int updated = switch (slot) {
+                case BUSINESS_LOGO -> businessRepository.completeLogoUpload(ownerId, objectKey);
+                case ITEM_IMAGE -> itemRepository.completeImageUpload(ownerId, objectKey);
+                case USER_PROFILE_PICTURE -> userRepository.completeProfilePictureUpload(ownerId, objectKey);
+            };
+
+            if (updated == 0) {
+                storageOutbox.enqueueImages(List.of(objectKey));
+                return false;
+            }
+
+            if (previousKey != null && !previousKey.equals(objectKey)) {
+                storageOutbox.enqueueImages(List.of(previousKey));
+            }
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(promoted)) {
+            evict(slot, ownerId);
+        }
+    }
+
+    private boolean fail(String objectKey, MediaSlot slot, Long ownerId) {
+        int updated = switch (slot) {
+            case BUSINESS_LOGO -> businessRepository.failLogoUpload(ownerId, objectKey);
+            case ITEM_IMAGE -> itemRepository.failImageUpload(ownerId, objectKey);
+            case USER_PROFILE_PICTURE -> userRepository.failProfilePictureUpload(ownerId, objectKey);
+        };
+
+        if (updated > 0) {
+            evict(slot, ownerId);
+        }
+        return updated > 0;
+    }
+
+    private void evict(MediaSlot slot, Long ownerId) {
+        switch (slot) {
+            case BUSINESS_LOGO -> catalogCache.evictBusinesses(List.of(ownerId));
+            case ITEM_IMAGE -> catalogCache.evictItem(ownerId);
+            case USER_PROFILE_PICTURE -> catalogCache.evictBusinesses(businessRepository.findIdsByOwnerId(ownerId));
+        }
+    }
+}
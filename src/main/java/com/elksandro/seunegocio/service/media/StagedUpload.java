@@ -0,0 +1,3 @@
+package com.elksandro.seunegocio.service.media;
+
+public record StagedUpload(String objectKey, MediaSource source) {}
@@ -0,0 +1,5 @@
+package com.elksandro.seunegocio.service.media;
+
+import java.time.Instant;
+
+public record StoredObjectEntry(String objectName, Instant lastModified) {}
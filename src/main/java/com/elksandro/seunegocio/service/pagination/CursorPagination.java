@@ -0,0 +1,78 @@
+package com.elksandro.seunegocio.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.elksandro.seunegocio.dto.page.CursorPageResponse;
+
+/**
+ * Keyset pagination helpers. Pages are ordered by ascending id and the cursor is the
+ * opaque (Base64 URL) encoding of the last id returned, so each page is a single
+ * indexed range scan no matter how deep the client has paged.
+ */
+public final class CursorPagination {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private CursorPagination() {
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long afterId = Long.parseLong(decoded);
+            if (afterId < 0) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.");
+            }
+            return afterId;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int normalizeSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("O tamanho da página deve ser de pelo menos 1.");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Fetches one row more than the page size so the presence of a next page is known
+     * without a count query.
+     */
+    public static Pageable window(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    public static <E, R> CursorPageResponse<R> toPage(List<E> rows, int pageSize, Function<E, Long> idExtractor,
+            Function<E, R> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<R> content = pageRows.stream()
+                .map(mapper)
+                .toList();
+
+        String next = hasNext ? encode(idExtractor.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPageResponse<>(content, next);
+    }
+}
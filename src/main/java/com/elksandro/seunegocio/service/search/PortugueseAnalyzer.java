@@ -0,0 +1,94 @@
+package com.elksandro.seunegocio.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns free text into index terms: lower-cases, folds accents, drops stopwords and applies a
+ * light Portuguese stemmer that reduces plural and gender inflections ("pães" and "pão",
+ * "bolos" and "bolo", "pintora" and "pintor" share a term).
+ */
+public final class PortugueseAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "entre",
+            "era", "essa", "esse", "esta", "este", "eu", "foi", "ha", "isso", "isto", "ja", "la", "mais",
+            "mas", "me", "mesmo", "meu", "minha", "muito", "na", "nas", "nem", "no", "nos", "o", "os",
+            "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "qual", "quando", "que", "quem", "se",
+            "sem", "ser", "seu", "seus", "so", "sua", "suas", "tambem", "te", "tem", "um", "uma", "umas",
+            "uns", "voce");
+
+    private PortugueseAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+
+        for (String token : NON_ALPHANUMERIC.split(folded)) {
+            if (token.isEmpty() || STOPWORDS.contains(token)) {
+                continue;
+            }
+            terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        if (token.length() <= 3 || Character.isDigit(token.charAt(token.length() - 1))) {
+            return token;
+        }
+
+        return removeGender(removePlural(token));
+    }
+
+    private static String removePlural(String word) {
+        if (!word.endsWith("s") || word.length() <= 3) {
+            return word;
+        }
+
+        if (word.endsWith("oes") || word.endsWith("aes")) {
+            return word.substring(0, word.length() - 3) + "ao";
+        }
+        if (word.endsWith("ais")) {
+            return word.substring(0, word.length() - 2) + "l";
+        }
+        if (word.endsWith("eis")) {
+            return word.substring(0, word.length() - 3) + "el";
+        }
+        if (word.endsWith("ns")) {
+            return word.substring(0, word.length() - 2) + "m";
+        }
+        if (word.endsWith("res") || word.endsWith("zes") || word.endsWith("les")) {
+            return word.substring(0, word.length() - 2);
+        }
+        if (word.endsWith("is") || word.endsWith("us") || word.endsWith("ss")) {
+            return word;
+        }
+        return word.substring(0, word.length() - 1);
+    }
+
+    private static String removeGender(String word) {
+        if (word.length() <= 3) {
+            return word;
+        }
+
+        char last = word.charAt(word.length() - 1);
+        if (last == 'a' || last == 'o' || last == 'e') {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,77 @@
+package com.elksandro.seunegocio.service.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.repository.projection.BusinessSearchView;
+import com.elksandro.seunegocio.repository.projection.ItemSearchView;
+
+/**
+ * An analyzed, immutable entry of the search index. Name terms count {@value #NAME_WEIGHT}
+ * times as much as description terms, both in the term frequencies and in the document length.
+ */
+public record SearchDocument(
+    SearchKey key,
+    String name,
+    Double price,
+    OfferType offerType,
+    CategoryType categoryType,
+    Long businessId,
+    String businessName,
+    Map<String, Integer> termFrequencies,
+    int length
+) {
+
+    static final int NAME_WEIGHT = 3;
+
+    public static SearchDocument of(ItemSearchView item) {
+        Map<String, Integer> frequencies = analyze(item.name(), item.description());
+
+        return new SearchDocument(
+                new SearchKey(SearchDocumentType.ITEM, item.id()),
+                item.name(),
+                item.price(),
+                item.offerType(),
+                item.categoryType(),
+                item.businessId(),
+                item.businessName(),
+                frequencies,
+                length(frequencies));
+    }
+
+    public static SearchDocument of(BusinessSearchView business) {
+        Map<String, Integer> frequencies = analyze(business.name(), business.description());
+
+        return new SearchDocument(
+                new SearchKey(SearchDocumentType.BUSINESS, business.id()),
+                business.name(),
+                null,
+                null,
+                business.categoryType(),
+                business.id(),
+                business.name(),
+                frequencies,
+                length(frequencies));
+    }
+
+    private static Map<String, Integer> analyze(String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : PortugueseAnalyzer.analyze(name)) {
+            frequencies.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : PortugueseAnalyzer.analyze(description)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return Map.copyOf(frequencies);
+    }
+
+    private static int length(Map<String, Integer> frequencies) {
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,6 @@
+package com.elksandro.seunegocio.service.search;
+
+public enum SearchDocumentType {
+    ITEM,
+    BUSINESS
+}
@@ -0,0 +1,14 @@
+package com.elksandro.seunegocio.service.search;
+
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+
+public record SearchFilter(CategoryType categoryType, OfferType offerType) {
+
+    boolean accepts(SearchDocument document) {
+        if (categoryType != null && document.categoryType() != categoryType) {
+            return false;
+        }
+        return offerType == null || document.offerType() == offerType;
+    }
+}
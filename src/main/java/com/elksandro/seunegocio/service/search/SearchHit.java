@@ -0,0 +1,3 @@
+package com.elksandro.seunegocio.service.search;
+
+public record SearchHit(SearchDocument document, double score) {}
@@ -0,0 +1,206 @@
+package com.elksandro.seunegocio.service.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index ranked with BM25. Searches share a read lock; writes are applied
+ * under the write lock. While a rebuild is running, writes are applied to the live index and
+ * replayed onto the rebuilt one before it is swapped in, so no update is lost.
+ */
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score)
+            .thenComparing(hit -> hit.document().key(), Comparator.reverseOrder());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    private List<Consumer<Segment>> pendingWrites;
+
+    public void put(SearchDocument document) {
+        write(segment -> segment.put(document));
+    }
+
+    public void remove(SearchKey key) {
+        write(segment -> segment.remove(key));
+    }
+
+    public void removeBusinesses(Collection<Long> businessIds) {
+        write(segment -> businessIds.forEach(segment::removeBusiness));
+    }
+
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void completeRebuild(Collection<SearchDocument> documents) {
+        Segment rebuilt = new Segment();
+        documents.forEach(rebuilt::put);
+
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.forEach(write -> write.accept(rebuilt));
+            }
+            segment = rebuilt;
+            pendingWrites = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code limit} best hits for the given analyzed terms, best first.
+     */
+    public List<SearchHit> search(List<String> terms, SearchFilter filter, int limit) {
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<SearchKey, double[]> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = segment.documents.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) segment.totalLength / documentCount;
+
+            for (String term : new LinkedHashSet<>(terms)) {
+                Map<SearchKey, Integer> postings = segment.postings.get(term);
+                if (postings == null) {
+                    continue;
+                }
+
+                int frequency = postings.size();
+                double idf = Math.log(1 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+
+                for (Map.Entry<SearchKey, Integer> posting : postings.entrySet()) {
+                    SearchDocument document = segment.documents.get(posting.getKey());
+                    if (!filter.accepts(document)) {
+                        continue;
+                    }
+
+                    int tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.computeIfAbsent(posting.getKey(), key -> new double[1])[0] += idf * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, RANKING);
+            for (Map.Entry<SearchKey, double[]> score : scores.entrySet()) {
+                best.add(new SearchHit(segment.documents.get(score.getKey()), score.getValue()[0]));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(RANKING.reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Segment> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(segment);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Segment {
+
+        private final Map<SearchKey, SearchDocument> documents = new HashMap<>();
+        private final Map<String, Map<SearchKey, Integer>> postings = new HashMap<>();
+        private final Map<Long, Set<SearchKey>> itemsByBusiness = new HashMap<>();
+        private long totalLength;
+
+        void put(SearchDocument document) {
+            remove(document.key());
+
+            documents.put(document.key(), document);
+            totalLength += document.length();
+            document.termFrequencies().forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.key(), tf));
+
+            if (document.key().type() == SearchDocumentType.ITEM) {
+                itemsByBusiness.computeIfAbsent(document.businessId(), id -> new HashSet<>()).add(document.key());
+            }
+        }
+
+        void remove(SearchKey key) {
+            SearchDocument document = documents.remove(key);
+            if (document == null) {
+                return;
+            }
+
+            totalLength -= document.length();
+            for (String term : document.termFrequencies().keySet()) {
+                Map<SearchKey, Integer> termPostings = postings.get(term);
+                termPostings.remove(key);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+
+            if (key.type() == SearchDocumentType.ITEM) {
+                Set<SearchKey> items = itemsByBusiness.get(document.businessId());
+                items.remove(key);
+                if (items.isEmpty()) {
+                    itemsByBusiness.remove(document.businessId());
+                }
+            }
+        }
+
+        void removeBusiness(long businessId) {
+            Set<SearchKey> items = itemsByBusiness.get(businessId);
+            if (items != null) {
+                new ArrayList<>(items).forEach(this::remove);
+            }
+            remove(new SearchKey(SearchDocumentType.BUSINESS, businessId));
+        }
+    }
+}
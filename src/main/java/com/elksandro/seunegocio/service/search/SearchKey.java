@@ -0,0 +1,10 @@
+package com.elksandro.seunegocio.service.search;
+
+public record SearchKey(SearchDocumentType type, long id) implements Comparable<SearchKey> {
+
+    @Override
+    public int compareTo(SearchKey other) {
+        int byType = type.compareTo(other.type);
+        return byType != 0 ? byType : Long.compare(id, other.id);
+    }
+}
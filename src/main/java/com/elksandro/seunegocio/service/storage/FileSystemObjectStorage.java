@@ -0,0 +1,294 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.elksandro.seunegocio.service.media.ImageFormat;
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps objects as plain files under {@code api.storage.filesystem.root}, one file per object
+ * name. Writes go to a temporary file that is moved into place, so readers never see a partial
+ * object; reads are served by {@code /media/**} straight from the file. The content type is not
+ * stored: it is sniffed from the first bytes, which covers the images this API keeps.
+ */
+@Service
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "filesystem")
+public class FileSystemObjectStorage implements ObjectStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemObjectStorage.class);
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final Path root;
+    private final String publicUrl;
+
+    public FileSystemObjectStorage(
+            @Value("${api.storage.filesystem.root}") Path root,
+            @Value("${api.storage.public-url}") String publicUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.publicUrl = publicUrl;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(root);
+        logger.info("Armazenamento de arquivos em '{}'.", root);
+    }
+
+    @Override
+    public void putObject(String objectName, InputStream stream, long size, String contentType) {
+        Path target = resolve(objectName);
+        Path temp = null;
+        try {
+            Files.createDirectories(target.getParent());
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), TEMP_SUFFIX);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                    ReadableByteChannel source = Channels.newChannel(stream)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, Long.MAX_VALUE - position)) > 0) {
+                    position += transferred;
+                }
+                channel.force(false);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Erro ao gravar o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName) {
+        try {
+            return Files.newInputStream(resolve(objectName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) {
+        try {
+            FileChannel channel = FileChannel.open(resolve(objectName), StandardOpenOption.READ);
+            channel.position(offset);
+            return new RangeInputStream(channel, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> statObject(String objectName) {
+        Path file = resolve(objectName);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(ImageFormat.SNIFF_LENGTH);
+            int read;
+            do {
+                read = channel.read(header);
+            } while (read > 0 && header.hasRemaining());
+            byte[] bytes = new byte[header.position()];
+            header.flip().get(bytes);
+
+            ImageFormat format = ImageFormat.sniff(bytes);
+            String contentType = format != null ? format.getContentType() : DEFAULT_CONTENT_TYPE;
+            return Optional.of(new StoredObject(channel.size(), contentType));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao consultar o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public void deleteObject(String objectName) {
+        try {
+            Files.deleteIfExists(resolve(objectName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao excluir o arquivo '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public List<String> removeObjects(Collection<String> objectNames) {
+        List<String> failed = new ArrayList<>();
+        for (String objectName : objectNames) {
+            try {
+                deleteObject(objectName);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao excluir o arquivo '{}': {}", objectName, e.getMessage());
+                failed.add(objectName);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Walks the tree with the attributes the walk already read for each file. The listing is
+     * collected up front, since the iterator behind {@code Files.find} throws on an entry that
+     * vanishes mid-walk instead of letting it be skipped.
+     */
+    @Override
+    public Stream<StoredObjectEntry> listObjects() {
+        List<StoredObjectEntry> entries = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (attributes.isRegularFile() && !file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                        entries.add(new StoredObjectEntry(objectName(file), attributes.lastModifiedTime().toInstant()));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                    return skipVanished(e);
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    return e == null ? FileVisitResult.CONTINUE : skipVanished(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao listar os arquivos", e);
+        }
+        return entries.stream();
+    }
+
+    @Override
+    public String publicUrl() {
+        return publicUrl;
+    }
+
+    @Override
+    public Optional<Path> localFile(String objectName) {
+        Path file = resolve(objectName);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Lets the kernel copy the file to the target; for a socket this is {@code sendfile}.
+     */
+    @Override
+    public long transferTo(String objectName, long offset, long length, WritableByteChannel target)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(objectName), StandardOpenOption.READ)) {
+            long end = Math.min(offset + length, channel.size());
+            long position = offset;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, target);
+                if (transferred <= 0) break;
+                position += transferred;
+            }
+            return position - offset;
+        }
+    }
+
+    private Path resolve(String objectName) {
+        Path file = root.resolve(objectName).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            throw new IllegalArgumentException("Nome de arquivo inválido: " + objectName);
+        }
+        return file;
+    }
+
+    private String objectName(Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Files and directories removed while the walk runs, by the sweeper or a replaced image, are
+     * simply no longer listed.
+     */
+    private static FileVisitResult skipVanished(IOException e) throws IOException {
+        if (e instanceof NoSuchFileException) {
+            return FileVisitResult.CONTINUE;
+        }
+        throw e;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o arquivo temporário '{}': {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads at most {@code remaining} bytes from the channel's current position.
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final InputStream in;
+        private long remaining;
+
+        RangeInputStream(FileChannel channel, long length) {
+            this.in = Channels.newInputStream(channel);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+
+            int b = in.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) return -1;
+
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) remaining -= read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
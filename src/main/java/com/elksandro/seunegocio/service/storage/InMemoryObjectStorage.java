@@ -0,0 +1,96 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+
+/**
+ * Keeps objects on the heap. Meant for local development and load tests, where the cost of a
+ * real object store would hide the cost of the API itself; everything is lost on restart.
+ */
+@Service
+@ConditionalOnProperty(name = "api.storage.backend", havingValue = "memory")
+public class InMemoryObjectStorage implements ObjectStorage {
+
+    private record Entry(byte[] data, String contentType, Instant lastModified) {}
+
+    private final Map<String, Entry> objects = new ConcurrentHashMap<>();
+    private final String publicUrl;
+
+    public InMemoryObjectStorage(@Value("${api.storage.public-url}") String publicUrl) {
+        this.publicUrl = publicUrl;
+    }
+
+    @Override
+    public void putObject(String objectName, InputStream stream, long size, String contentType) {
+        try {
+            objects.put(objectName, new Entry(stream.readAllBytes(), contentType, Instant.now()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o objeto '" + objectName + "'", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String objectName) {
+        return new ByteArrayInputStream(require(objectName).data());
+    }
+
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) {
+        byte[] data = require(objectName).data();
+        int start = (int) Math.min(offset, data.length);
+        int count = (int) Math.min(length, data.length - start);
+        return new ByteArrayInputStream(data, start, count);
+    }
+
+    @Override
+    public Optional<StoredObject> statObject(String objectName) {
+        return Optional.ofNullable(objects.get(objectName))
+                .map(entry -> new StoredObject(entry.data().length, entry.contentType()));
+    }
+
+    @Override
+    public void deleteObject(String objectName) {
+        objects.remove(objectName);
+    }
+
+    @Override
+    public List<String> removeObjects(Collection<String> objectNames) {
+        objectNames.forEach(objects::remove);
+        return List.of();
+    }
+
+    @Override
+    public Stream<StoredObjectEntry> listObjects() {
+        return objects.entrySet().stream()
+                .map(entry -> new StoredObjectEntry(entry.getKey(), entry.getValue().lastModified()));
+    }
+
+    @Override
+    public String publicUrl() {
+        return publicUrl;
+    }
+
+    private Entry require(String objectName) {
+        Entry entry = objects.get(objectName);
+        if (entry == null) {
+            throw new UncheckedIOException(new IOException("Objeto '" + objectName + "' não encontrado"));
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,136 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.web.util.UriUtils;
+
+import com.elksandro.seunegocio.dto.media.ImageVariantsResponse;
+import com.elksandro.seunegocio.service.media.ImageVariant;
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+
+/**
+ * Where media objects are kept. The backend is picked with {@code api.storage.backend}:
+ * {@code minio} (default), {@code filesystem} or {@code memory}. Object names are relative,
+ * slash-separated keys.
+ */
+public interface ObjectStorage {
+
+    /** Path under which the API serves stored objects; media URLs point here, not at the store. */
+    String MEDIA_PATH = "/media/";
+
+    /**
+     * The object's path under {@link #MEDIA_PATH}, each key segment percent-encoded so the URL
+     * decodes back to the same name.
+     */
+    static String mediaPath(String objectName) {
+        return MEDIA_PATH + Arrays.stream(objectName.split("/", -1))
+                .map(segment -> UriUtils.encodePathSegment(segment, StandardCharsets.UTF_8))
+                .collect(Collectors.joining("/"));
+    }
+
+    /**
+     * Stores the stream under the name, replacing any existing object. A negative size means the
+     * length is not known up front.
+     */
+    void putObject(String objectName, InputStream stream, long size, String contentType);
+
+    InputStream getObject(String objectName);
+
+    InputStream getObject(String objectName, long offset, long length);
+
+    Optional<StoredObject> statObject(String objectName);
+
+    void deleteObject(String objectName);
+
+    /**
+     * Removes the objects and returns the names that could not be removed. Names that no longer
+     * exist count as removed.
+     */
+    List<String> removeObjects(Collection<String> objectNames);
+
+    /**
+     * Lists every stored object lazily. Callers must close the stream.
+     */
+    Stream<StoredObjectEntry> listObjects();
+
+    /**
+     * Base URL media paths are appended to: the public address of this API, not of the store.
+     */
+    String publicUrl();
+
+    /**
+     * The public URL of the object, served by {@code /media/**}.
+     */
+    default String getObjectUrl(String objectName) {
+        if (objectName == null || objectName.isBlank()) return null;
+
+        return publicUrl() + mediaPath(objectName);
+    }
+
+    /**
+     * Signs an upload the client can send to storage directly, for backends that support it. The
+     * signature pins the object name, the content type and the exact size.
+     */
+    default PresignedUpload presignUpload(String objectName, String contentType, long size, Duration expiry) {
+        throw new UnsupportedOperationException("O armazenamento configurado não aceita envio direto.");
+    }
+
+    /**
+     * The file holding the object, for backends that keep objects on local disk, so the servlet
+     * container can send it with {@code sendfile}.
+     */
+    default Optional<Path> localFile(String objectName) {
+        return Optional.empty();
+    }
+
+    /**
+     * Copies a slice of the object to the channel and returns the number of bytes written.
+     */
+    default long transferTo(String objectName, long offset, long length, WritableByteChannel target)
+            throws IOException {
+        try (InputStream stream = getObject(objectName, offset, length)) {
+            return stream.transferTo(Channels.newOutputStream(target));
+        }
+    }
+
+    default void deleteImage(String imageKey) {
+        if (imageKey == null || imageKey.isBlank()) return;
+
+        ImageVariant.objectNames(imageKey).forEach(this::deleteObject);
+    }
+
+    default String getImageUrl(String imageKey) {
+        if (imageKey == null || imageKey.isBlank()) return null;
+
+        return ImageVariant.hasVariants(imageKey)
+                ? getObjectUrl(ImageVariant.FULL.objectName(imageKey))
+                : getObjectUrl(imageKey);
+    }
+
+    default ImageVariantsResponse getImageVariants(String imageKey) {
+        if (imageKey == null || imageKey.isBlank()) return null;
+
+        if (!ImageVariant.hasVariants(imageKey)) {
+            String url = getObjectUrl(imageKey);
+            return new ImageVariantsResponse(url, url, url);
+        }
+
+        return new ImageVariantsResponse(
+                getObjectUrl(ImageVariant.THUMBNAIL.objectName(imageKey)),
+                getObjectUrl(ImageVariant.CARD.objectName(imageKey)),
+                getObjectUrl(ImageVariant.FULL.objectName(imageKey)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.util.Map;
+
+/**
+ * A signed upload the client performs on its own: an HTML-form style {@code POST} of
+ * {@code fields} followed by the file, to {@code url}.
+ */
+public record PresignedUpload(
+    String url,
+    String method,
+    Map<String, String> fields
+) {}
@@ -0,0 +1,115 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.elksandro.seunegocio.model.StorageDeletion;
+import com.elksandro.seunegocio.repository.StorageDeletionRepository;
+import com.elksandro.seunegocio.service.cache.MediaCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains the storage outbox. Each batch is locked with {@code skip locked}, removed with a single
+ * bulk request and deleted from the table in the same transaction; objects storage refused stay
+ * queued with their attempt count raised.
+ */
+@Component
+@ConditionalOnProperty(name = "api.storage-outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class StorageDeletionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageDeletionWorker.class);
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final ObjectStorage objectStorage;
+    private final MediaCache mediaCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter deleted;
+    private final Counter failed;
+    private final Timer drainTimer;
+
+    public StorageDeletionWorker(StorageDeletionRepository storageDeletionRepository, ObjectStorage objectStorage,
+            MediaCache mediaCache, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+            @Value("${api.storage-outbox.batch-size}") int batchSize) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.objectStorage = objectStorage;
+        this.mediaCache = mediaCache;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.min(batchSize, 1000);
+
+        Gauge.builder("storage.outbox.backlog", backlog, AtomicLong::get)
+                .description("Objects waiting to be removed from storage")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("storage.outbox.deleted").register(meterRegistry);
+        this.failed = Counter.builder("storage.outbox.failed").register(meterRegistry);
+        this.drainTimer = Timer.builder("storage.outbox.drain").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.storage-outbox.drain-interval}")
+    public void drain() {
+        drainTimer.record(() -> {
+            Integer removed;
+            do {
+                removed = transactionTemplate.execute(status -> drainBatch());
+            } while (removed != null && removed == batchSize);
+
+            backlog.set(storageDeletionRepository.count());
+        });
+    }
+
+    private int drainBatch() {
+        List<StorageDeletion> batch = storageDeletionRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> refused;
+        try {
+            refused = new HashSet<>(objectStorage.removeObjects(batch.stream().map(StorageDeletion::getObjectName).toList()));
+        } catch (RuntimeException e) {
+            logger.warn("Lote de {} remoção(ões) não processado: {}", batch.size(), e.getMessage());
+            refused = new HashSet<>(batch.stream().map(StorageDeletion::getObjectName).toList());
+        }
+
+        List<Long> done = new ArrayList<>();
+        List<Long> retry = new ArrayList<>();
+        List<String> removedNames = new ArrayList<>();
+        for (StorageDeletion deletion : batch) {
+            if (refused.contains(deletion.getObjectName())) {
+                retry.add(deletion.getId());
+            } else {
+                done.add(deletion.getId());
+                removedNames.add(deletion.getObjectName());
+            }
+        }
+        mediaCache.evict(removedNames);
+
+        if (!done.isEmpty()) {
+            storageDeletionRepository.deleteAllByIdInBatch(done);
+        }
+        if (!retry.isEmpty()) {
+            storageDeletionRepository.incrementAttempts(retry);
+        }
+
+        deleted.increment(done.size());
+        failed.increment(retry.size());
+        return done.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elksandro.seunegocio.model.StorageDeletion;
+import com.elksandro.seunegocio.repository.StorageDeletionRepository;
+import com.elksandro.seunegocio.service.media.ImageVariant;
+
+/**
+ * Records storage objects to delete. Image keys must be enqueued in the transaction that stops
+ * referencing them, so the objects are removed only if that change commits, and are always
+ * removed once it does.
+ */
+@Component
+public class StorageOutbox {
+
+    private final StorageDeletionRepository storageDeletionRepository;
+
+    public StorageOutbox(StorageDeletionRepository storageDeletionRepository) {
+        this.storageDeletionRepository = storageDeletionRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueImages(Collection<String> imageKeys) {
+        enqueueObjects(imageKeys.stream()
+                .filter(Objects::nonNull)
+                .filter(key -> !key.isBlank())
+                .distinct()
+                .flatMap(key -> ImageVariant.objectNames(key).stream())
+                .toList());
+    }
+
+    @Transactional
+    public void enqueueObjects(Collection<String> objectNames) {
+        if (objectNames.isEmpty()) {
+            return;
+        }
+
+        List<StorageDeletion> deletions = objectNames.stream().map(StorageDeletion::new).toList();
+        storageDeletionRepository.saveAll(deletions);
+    }
+}
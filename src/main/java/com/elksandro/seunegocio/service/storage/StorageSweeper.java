@@ -0,0 +1,130 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.service.media.ImageVariant;
+import com.elksandro.seunegocio.service.media.MediaSource.IncomingObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Finds objects no row references and queues them on the storage outbox. The bucket listing is
+ * streamed and checked against the database {@code batch-size} image keys at a time. Objects
+ * younger than {@code grace-period} are left alone, since their row may not be committed yet,
+ * and {@code incoming/} is left to its lifecycle rule.
+ */
+@Component
+@ConditionalOnProperty(name = "api.storage-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class StorageSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageSweeper.class);
+
+    private final ObjectStorage objectStorage;
+    private final BusinessRepository businessRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final StorageOutbox storageOutbox;
+    private final Duration gracePeriod;
+    private final int batchSize;
+
+    private final Counter scanned;
+    private final Counter orphaned;
+    private final Timer sweepTimer;
+
+    public StorageSweeper(ObjectStorage objectStorage, BusinessRepository businessRepository,
+            ItemRepository itemRepository, UserRepository userRepository, StorageOutbox storageOutbox,
+            MeterRegistry meterRegistry,
+            @Value("${api.storage-sweeper.grace-period}") Duration gracePeriod,
+            @Value("${api.storage-sweeper.batch-size}") int batchSize) {
+        this.objectStorage = objectStorage;
+        this.businessRepository = businessRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.storageOutbox = storageOutbox;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+
+        this.scanned = Counter.builder("storage.sweeper.scanned").register(meterRegistry);
+        this.orphaned = Counter.builder("storage.sweeper.orphaned").register(meterRegistry);
+        this.sweepTimer = Timer.builder("storage.sweeper.run").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.storage-sweeper.interval}",
+            initialDelayString = "${api.storage-sweeper.initial-delay}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        long start = System.nanoTime();
+        long scannedObjects = 0;
+        long orphanedObjects = 0;
+
+        Map<String, List<String>> batch = new LinkedHashMap<>();
+        try (Stream<StoredObjectEntry> objects = objectStorage.listObjects()) {
+            Iterator<StoredObjectEntry> iterator = objects.iterator();
+            while (iterator.hasNext()) {
+                StoredObjectEntry object = iterator.next();
+                scannedObjects++;
+                if (object.objectName().startsWith(IncomingObject.PREFIX) || object.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+
+                batch.computeIfAbsent(ImageVariant.imageKeyOf(object.objectName()), key -> new ArrayList<>())
+                        .add(object.objectName());
+                if (batch.size() >= batchSize) {
+                    orphanedObjects += flush(batch);
+                    batch.clear();
+                }
+            }
+            orphanedObjects += flush(batch);
+        } catch (RuntimeException e) {
+            logger.error("Varredura do bucket interrompida: {}", e.getMessage(), e);
+        } finally {
+            scanned.increment(scannedObjects);
+            sweepTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        logger.info("Varredura do bucket: {} arquivo(s) verificado(s), {} órfão(s) enfileirado(s) para remoção.",
+                scannedObjects, orphanedObjects);
+    }
+
+    private int flush(Map<String, List<String>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(businessRepository.findReferencedLogoKeys(batch.keySet()));
+        referenced.addAll(itemRepository.findReferencedImageKeys(batch.keySet()));
+        referenced.addAll(userRepository.findReferencedProfilePictureKeys(batch.keySet()));
+
+        List<String> orphans = batch.entrySet().stream()
+                .filter(entry -> !referenced.contains(entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+
+        storageOutbox.enqueueObjects(orphans);
+        orphaned.increment(orphans.size());
+        return orphans.size();
+    }
+}
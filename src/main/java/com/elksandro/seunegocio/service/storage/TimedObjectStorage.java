@@ -0,0 +1,117 @@
+package com.elksandro.seunegocio.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.elksandro.seunegocio.service.media.StoredObject;
+import com.elksandro.seunegocio.service.media.StoredObjectEntry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records a {@code storage.requests} timer per operation around whichever backend is active.
+ * Timers are registered once up front so the hot path is a clock read and an atomic update.
+ * {@link #getObject} times opening the stream, not reading it; URL building is not timed.
+ */
+public class TimedObjectStorage implements ObjectStorage {
+
+    private final ObjectStorage delegate;
+
+    private final Timer put;
+    private final Timer get;
+    private final Timer stat;
+    private final Timer delete;
+    private final Timer remove;
+    private final Timer list;
+    private final Timer transfer;
+    private final Timer presign;
+
+    public TimedObjectStorage(ObjectStorage delegate, String backend, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.put = timer(meterRegistry, backend, "put");
+        this.get = timer(meterRegistry, backend, "get");
+        this.stat = timer(meterRegistry, backend, "stat");
+        this.delete = timer(meterRegistry, backend, "delete");
+        this.remove = timer(meterRegistry, backend, "remove");
+        this.list = timer(meterRegistry, backend, "list");
+        this.transfer = timer(meterRegistry, backend, "transfer");
+        this.presign = timer(meterRegistry, backend, "presign");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String backend, String operation) {
+        return Timer.builder("storage.requests")
+                .description("Object storage operations")
+                .tag("backend", backend)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void putObject(String objectName, InputStream stream, long size, String contentType) {
+        put.record(() -> delegate.putObject(objectName, stream, size, contentType));
+    }
+
+    @Override
+    public InputStream getObject(String objectName) {
+        return get.record(() -> delegate.getObject(objectName));
+    }
+
+    @Override
+    public InputStream getObject(String objectName, long offset, long length) {
+        return get.record(() -> delegate.getObject(objectName, offset, length));
+    }
+
+    @Override
+    public Optional<StoredObject> statObject(String objectName) {
+        return stat.record(() -> delegate.statObject(objectName));
+    }
+
+    @Override
+    public void deleteObject(String objectName) {
+        delete.record(() -> delegate.deleteObject(objectName));
+    }
+
+    @Override
+    public List<String> removeObjects(Collection<String> objectNames) {
+        return remove.record(() -> delegate.removeObjects(objectNames));
+    }
+
+    @Override
+    public Stream<StoredObjectEntry> listObjects() {
+        return list.record(delegate::listObjects);
+    }
+
+    @Override
+    public String publicUrl() {
+        return delegate.publicUrl();
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String objectName, String contentType, long size, Duration expiry) {
+        return presign.record(() -> delegate.presignUpload(objectName, contentType, size, expiry));
+    }
+
+    @Override
+    public Optional<Path> localFile(String objectName) {
+        return delegate.localFile(objectName);
+    }
+
+    @Override
+    public long transferTo(String objectName, long offset, long length, WritableByteChannel target)
+            throws IOException {
+        long start = System.nanoTime();
+        try {
+            return delegate.transferTo(objectName, offset, length, target);
+        } finally {
+            transfer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.elksandro.seunegocio.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.elksandro.seunegocio.SeuNegocioApiApplication;
+import com.elksandro.seunegocio.dto.user.UserLogin;
+import com.elksandro.seunegocio.dto.user.UserRequest;
+import com.elksandro.seunegocio.service.UserService;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Boots the application twice against the same embedded PostgreSQL, once on Tomcat's platform
+ * thread pool and once on virtual threads, and drives both with the same number of concurrent
+ * keep-alive connections issuing authenticated reads that each hit the database. Reports
+ * throughput and latency percentiles per mode. Run with {@code mvn test -Pbenchmark}; tune with
+ * {@code -Dbenchmark.connections}, {@code -Dbenchmark.warmup} and {@code -Dbenchmark.duration}.
+ */
+@Tag("benchmark")
+class ThreadModeBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 1000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+
+    private static final List<String> PATHS = List.of("/v1/cart/me", "/v1/cart/me/summary", "/v1/user/me");
+
+    private record Result(String mode, long requests, long errors, long[] latenciesNanos, Duration elapsed) {
+
+        double throughput() {
+            return requests / (elapsed.toNanos() / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (latenciesNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            results.add(run(postgres, false));
+            results.add(run(postgres, true));
+        }
+
+        System.out.printf("%n%d conexões, %ds medidos após %ds de aquecimento%n",
+                CONNECTIONS, DURATION.toSeconds(), WARMUP.toSeconds());
+        System.out.printf("%-10s %12s %10s %10s %10s %10s%n", "modo", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "erros");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.2f %10.2f %10.2f %10d%n", result.mode(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+                    result.errors());
+        }
+    }
+
+    private Result run(EmbeddedPostgres postgres, boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SeuNegocioApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--api.secret=thread-mode-benchmark",
+                        "--api.storage-sweeper.enabled=false",
+                        "--api.storage.backend=memory")) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = seedUser(context.getBean(UserService.class));
+
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(workers)
+                        .build();
+
+                drive(mode, client, workers, baseUrl, token, WARMUP);
+                return drive(mode, client, workers, baseUrl, token, DURATION);
+            }
+        }
+    }
+
+    private static String seedUser(UserService userService) throws Exception {
+        userService.registerUser(
+                new UserRequest("Comprador Benchmark", "benchmark@seunegocio.com", "benchmark123", null), null);
+        return userService.loginUser(new UserLogin("benchmark@seunegocio.com", "benchmark123")).token();
+    }
+
+    private static Result drive(String mode, HttpClient client, ExecutorService workers, String baseUrl, String token,
+            Duration duration) throws Exception {
+        List<HttpRequest> requests = PATHS.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build())
+                .toList();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Worker>> futures = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            Worker worker = new Worker(client, requests, i);
+            futures.add(workers.submit(() -> {
+                start.await();
+                worker.run(System.nanoTime() + duration.toNanos());
+                return worker;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+
+        long requestCount = 0;
+        long errors = 0;
+        List<long[]> latencies = new ArrayList<>(CONNECTIONS);
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            requestCount += worker.count;
+            errors += worker.errors;
+            latencies.add(Arrays.copyOf(worker.latencies, worker.count));
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        long[] merged = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, requestCount, errors, merged, elapsed);
+    }
+
+    private static final class Worker {
+
+        private final HttpClient client;
+        private final List<HttpRequest> requests;
+        private int next;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker(HttpClient client, List<HttpRequest> requests, int offset) {
+            this.client = client;
+            this.requests = requests;
+            this.next = offset;
+        }
+
+        void run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = requests.get(next++ % requests.size());
+                long started = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) {
+                        errors++;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                }
+                record(System.nanoTime() - started);
+            }
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.elksandro.seunegocio.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.elksandro.seunegocio.model.Business;
+import com.elksandro.seunegocio.model.CartItem;
+import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.model.enums.Role;
+import com.elksandro.seunegocio.repository.BusinessRepository;
+import com.elksandro.seunegocio.repository.CartItemRepository;
+import com.elksandro.seunegocio.repository.ItemRepository;
+import com.elksandro.seunegocio.repository.UserRepository;
+import com.elksandro.seunegocio.security.TokenProvider;
+import com.elksandro.seunegocio.service.SearchService;
+import com.elksandro.seunegocio.service.cache.CatalogCache;
+import com.elksandro.seunegocio.service.geo.GeoIndex;
+import com.elksandro.seunegocio.support.ExpectedQueries;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+/**
+ * Pins the SQL statement count of the endpoints whose responses are built by the
+ * {@code convertToResponse} chains, and of the cart and catalog writes. Each dataset size must
+ * cost the same number of statements; a count that grows with the size is an N+1 query.
+ * Authenticated requests include the token revocation lookup, since every test signs in a new user.
+ */
+@SpringBootTest(properties = {
+        "api.secret=endpoint-query-count-test",
+        "api.storage.backend=memory",
+        "api.storage-outbox.enabled=false",
+        "api.storage-sweeper.enabled=false" })
+@AutoConfigureMockMvc
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("test")
+class EndpointQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private int sequence;
+
+    @AfterEach
+    void tearDown() {
+        List<Long> businessIds = businessRepository.findAll().stream().map(Business::getId).toList();
+        searchService.removeBusinesses(businessIds);
+        geoIndex.removeAll(businessIds);
+        catalogCache.evictBusinesses(businessIds);
+
+        cartItemRepository.deleteAll();
+        itemRepository.deleteAll();
+        businessRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void businessById(int itemCount) throws Exception {
+        Business business = business(seller());
+        items(business, itemCount);
+
+        mockMvc.perform(get("/v1/businesses/{id}", business.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void businessItems(int itemCount) throws Exception {
+        Business business = business(seller());
+        items(business, itemCount);
+
+        mockMvc.perform(get("/v1/businesses/{id}/items", business.getId()).param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(4)
+    void myBusinesses(int businessCount) throws Exception {
+        User seller = seller();
+        for (int i = 0; i < businessCount; i++) {
+            items(business(seller), 2);
+        }
+
+        mockMvc.perform(get("/v1/businesses/me").param("size", "50")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(seller)))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void allItems(int itemCount) throws Exception {
+        items(business(seller()), itemCount);
+
+        mockMvc.perform(get("/v1/items").param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void itemById(int itemCount) throws Exception {
+        List<Item> items = items(business(seller()), itemCount);
+
+        mockMvc.perform(get("/v1/items/{id}", items.get(items.size() - 1).getId()))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void cart(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+
+        mockMvc.perform(get("/v1/cart/me").header(HttpHeaders.AUTHORIZATION, bearer(buyer)))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void checkoutSummary(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+
+        mockMvc.perform(get("/v1/cart/me/summary").header(HttpHeaders.AUTHORIZATION, bearer(buyer)))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void categoryPage(int businessCount) throws Exception {
+        for (int i = 0; i < businessCount; i++) {
+            items(business(seller()), 2);
+        }
+
+        mockMvc.perform(get("/v1/businesses/category/{categoryType}", CategoryType.FOOD_DRINKS).param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(0)
+    void search(int itemCount) throws Exception {
+        Business business = business(seller());
+        searchService.indexBusiness(business);
+        items(business, itemCount).forEach(searchService::indexItem);
+
+        mockMvc.perform(get("/v1/search").param("q", "item").param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(1)
+    void nearby(int businessCount) throws Exception {
+        for (int i = 0; i < businessCount; i++) {
+            Business business = business(seller());
+            business.setLatitude(-8.05 + i * 0.0001);
+            business.setLongitude(-34.9);
+            business = businessRepository.save(business);
+            geoIndex.put(business.getId(), business.getLatitude(), business.getLongitude(), business.getCategoryType());
+        }
+
+        mockMvc.perform(get("/v1/businesses/nearby").param("lat", "-8.05").param("lng", "-34.9").param("limit", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(2)
+    void me(int businessCount) throws Exception {
+        User seller = seller();
+        for (int i = 0; i < businessCount; i++) {
+            business(seller);
+        }
+
+        mockMvc.perform(get("/v1/user/me").header(HttpHeaders.AUTHORIZATION, bearer(seller)))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void addToCart(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+        Item item = items(business(seller()), 1).get(0);
+
+        mockMvc.perform(post("/v1/cart/items").header(HttpHeaders.AUTHORIZATION, bearer(buyer))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\": " + item.getId() + ", \"quantity\": 1}"))
+                .andExpect(status().isCreated());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void updateCartQuantity(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+        Long itemId = cartItemRepository.findAll().get(0).getItem().getId();
+
+        mockMvc.perform(patch("/v1/cart/items/{itemId}", itemId).header(HttpHeaders.AUTHORIZATION, bearer(buyer))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\": " + itemId + ", \"quantity\": 5}"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(4)
+    void updateCart(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+        StringBuilder lines = new StringBuilder();
+        for (CartItem cartItem : cartItemRepository.findAll()) {
+            if (!lines.isEmpty()) {
+                lines.append(", ");
+            }
+            lines.append("{\"itemId\": ").append(cartItem.getItem().getId()).append(", \"quantity\": 2}");
+        }
+
+        mockMvc.perform(put("/v1/cart").header(HttpHeaders.AUTHORIZATION, bearer(buyer))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": [" + lines + "]}"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void removeFromCart(int lineCount) throws Exception {
+        User buyer = cartWithLinesFromDistinctBusinesses(lineCount);
+        Long itemId = cartItemRepository.findAll().get(0).getItem().getId();
+
+        mockMvc.perform(delete("/v1/cart/items/{itemId}", itemId).header(HttpHeaders.AUTHORIZATION, bearer(buyer)))
+                .andExpect(status().isNoContent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(4)
+    void updateBusiness(int itemCount) throws Exception {
+        User seller = seller();
+        Business business = business(seller);
+        items(business, itemCount);
+
+        mockMvc.perform(patch("/v1/businesses/{id}", business.getId()).header(HttpHeaders.AUTHORIZATION, bearer(seller))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Negócio renomeado " + (++sequence) + "\", \"description\": \"Descrição\", "
+                                + "\"categoryType\": \"FOOD_DRINKS\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(6)
+    void removeBusiness(int itemCount) throws Exception {
+        User seller = seller();
+        Business business = business(seller);
+        items(business, itemCount);
+
+        mockMvc.perform(delete("/v1/businesses/{id}", business.getId()).header(HttpHeaders.AUTHORIZATION, bearer(seller)))
+                .andExpect(status().isNoContent());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(3)
+    void updateItem(int itemCount) throws Exception {
+        User seller = seller();
+        Business business = business(seller);
+        List<Item> items = items(business, itemCount);
+
+        mockMvc.perform(patch("/v1/items/{id}", items.get(0).getId()).header(HttpHeaders.AUTHORIZATION, bearer(seller))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Item renomeado\", \"description\": \"Descrição\", \"price\": 12.5, "
+                                + "\"offerType\": \"PRODUCT\", \"businessId\": " + business.getId() + "}"))
+                .andExpect(status().isOk());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 10, 50 })
+    @ExpectedQueries(4)
+    void deleteItem(int itemCount) throws Exception {
+        User seller = seller();
+        List<Item> items = items(business(seller), itemCount);
+
+        mockMvc.perform(delete("/v1/items/{id}", items.get(0).getId()).header(HttpHeaders.AUTHORIZATION, bearer(seller)))
+                .andExpect(status().isNoContent());
+    }
+
+    private User cartWithLinesFromDistinctBusinesses(int lineCount) {
+        User buyer = user(Role.BUYER);
+        for (int i = 0; i < lineCount; i++) {
+            Item item = items(business(seller()), 1).get(0);
+
+            CartItem cartItem = new CartItem();
+            cartItem.setUser(buyer);
+            cartItem.setItem(item);
+            cartItem.setQuantity(i + 1);
+            cartItemRepository.save(cartItem);
+        }
+        return buyer;
+    }
+
+    private User seller() {
+        return user(Role.SELLER);
+    }
+
+    private User user(Role role) {
+        int n = ++sequence;
+        User user = new User();
+        user.setName("Usuário " + n);
+        user.setEmail("usuario" + n + "@example.com");
+        user.setPassword("hash");
+        user.setWhatsapp("+55 81 90000-" + String.format("%04d", n));
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Business business(User owner) {
+        Business business = new Business();
+        business.setName("Negócio " + (++sequence));
+        business.setOwner(owner);
+        business.setCategoryType(CategoryType.FOOD_DRINKS);
+        return businessRepository.save(business);
+    }
+
+    private List<Item> items(Business business, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setName("Item " + (++sequence));
+            item.setPrice(10.0 + i);
+            item.setOfferType(OfferType.PRODUCT);
+            item.setBusiness(business);
+            items.add(item);
+        }
+        return itemRepository.saveAll(items);
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + tokenProvider.generateToken(user);
+    }
+}
@@ -0,0 +1,31 @@
+package com.elksandro.seunegocio.loadtest;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Routes every connection through the {@link StatementCounter}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestConfiguration {
+
+    private static final StatementCounter STATEMENT_COUNTER = new StatementCounter();
+
+    @Bean
+    StatementCounter statementCounter() {
+        return STATEMENT_COUNTER;
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? STATEMENT_COUNTER.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,426 @@
+package com.elksandro.seunegocio.loadtest;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.elksandro.seunegocio.SeuNegocioApiApplication;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.security.TokenProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * End-to-end load test through the real HTTP layer, with an embedded PostgreSQL and the
+ * in-memory storage backend in place of MinIO. Seeds sellers with businesses and items
+ * through the public API, then runs virtual users that each loop over a weighted mix of
+ * browsing, opening businesses, logging in, changing their cart and creating items with images.
+ * Reports per-operation throughput and latency percentiles plus SQL statements per request.
+ *
+ * <p>Run with {@code mvn test -Ploadtest}; tune with {@code -Dloadtest.concurrency},
+ * {@code -Dloadtest.warmup}, {@code -Dloadtest.duration}, {@code -Dloadtest.sellers} and
+ * {@code -Dloadtest.items-per-business}. Any other application property can be passed as
+ * {@code -Dloadtest.args="--spring.threads.virtual.enabled=true --api.cart-engine.enabled=true"}.
+ */
+@Tag("loadtest")
+class MarketplaceLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+    private static final int SELLERS = Integer.getInteger("loadtest.sellers", 20);
+    private static final int ITEMS_PER_BUSINESS = Integer.getInteger("loadtest.items-per-business", 10);
+    private static final String EXTRA_ARGS = System.getProperty("loadtest.args", "");
+
+    private static final String PASSWORD = "loadtest123";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] image = pngImage();
+
+    private HttpClient client;
+    private String baseUrl;
+    private final List<Long> businessIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final List<Seller> sellers = new ArrayList<>();
+
+    private record Seller(String token, long businessId) {}
+
+    private record Buyer(String email, String token) {}
+
+    @Test
+    void runWorkload() throws Exception {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                ConfigurableApplicationContext context = start(postgres);
+                ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(workers).build();
+            StatementCounter statementCounter = context.getBean(StatementCounter.class);
+
+            seedCatalog();
+            List<Buyer> buyers = registerBuyers();
+
+            drive(workers, buyers, WARMUP);
+
+            long statementsBefore = statementCounter.count();
+            Report report = drive(workers, buyers, DURATION);
+            long statements = statementCounter.count() - statementsBefore;
+
+            report.print(statements);
+        }
+    }
+
+    private ConfigurableApplicationContext start(EmbeddedPostgres postgres) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--api.secret=marketplace-load-test",
+                "--api.storage-sweeper.enabled=false",
+                "--api.storage.backend=memory",
+                "--logging.level.com.elksandro.seunegocio=WARN"));
+        if (!EXTRA_ARGS.isBlank()) {
+            args.addAll(Arrays.asList(EXTRA_ARGS.trim().split("\\s+")));
+        }
+
+        return new SpringApplicationBuilder(SeuNegocioApiApplication.class, LoadTestConfiguration.class)
+                .run(args.toArray(String[]::new));
+    }
+
+    private void seedCatalog() throws Exception {
+        CategoryType[] categories = CategoryType.values();
+        for (int i = 0; i < SELLERS; i++) {
+            String email = "vendedor" + i + "@loadtest.com";
+            register("Vendedor " + i, email);
+            String token = login(email);
+
+            Map<String, Object> businessRequest = new HashMap<>();
+            businessRequest.put("name", "Negócio " + i);
+            businessRequest.put("description", "Negócio criado pelo teste de carga.");
+            businessRequest.put("address", "Rua do Teste, " + i);
+            businessRequest.put("latitude", -8.05 + i * 0.001);
+            businessRequest.put("longitude", -34.9 + i * 0.001);
+            businessRequest.put("categoryType", categories[i % categories.length].name());
+
+            HttpResponse<String> created = send(multipart("/v1/businesses", token,
+                    Part.json("businessRequest", businessRequest), Part.image("logo", image)));
+            long businessId = objectMapper.readTree(created.body()).get("id").asLong();
+            String sellerToken = created.headers().firstValue(TokenProvider.REFRESHED_TOKEN_HEADER).orElse(token);
+
+            Seller seller = new Seller(sellerToken, businessId);
+            sellers.add(seller);
+            businessIds.add(businessId);
+            for (int j = 0; j < ITEMS_PER_BUSINESS; j++) {
+                itemIds.add(createItem(seller, "Item " + i + "-" + j));
+            }
+        }
+    }
+
+    private List<Buyer> registerBuyers() throws Exception {
+        List<Buyer> buyers = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            String email = "comprador" + i + "@loadtest.com";
+            register("Comprador " + i, email);
+            buyers.add(new Buyer(email, login(email)));
+        }
+        return buyers;
+    }
+
+    private Report drive(ExecutorService workers, List<Buyer> buyers, Duration duration) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<VirtualUser>> futures = new ArrayList<>(buyers.size());
+        for (Buyer buyer : buyers) {
+            VirtualUser user = new VirtualUser(buyer);
+            futures.add(workers.submit(() -> {
+                start.await();
+                user.run(System.nanoTime() + duration.toNanos());
+                return user;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+
+        Report report = new Report();
+        for (Future<VirtualUser> future : futures) {
+            report.merge(future.get().recorder);
+        }
+        report.elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        return report;
+    }
+
+    /**
+     * One simulated buyer. Weights: 35% browse a category, 30% open a business and its items,
+     * 25% change the cart, 5% log in again, 5% create an item with an image as a seller.
+     */
+    private final class VirtualUser {
+
+        private final Buyer buyer;
+        private final Recorder recorder = new Recorder();
+
+        VirtualUser(Buyer buyer) {
+            this.buyer = buyer;
+        }
+
+        void run(long deadline) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            CategoryType[] categories = CategoryType.values();
+
+            while (System.nanoTime() < deadline) {
+                int roll = random.nextInt(100);
+                if (roll < 35) {
+                    call("categories", get("/v1/businesses/categories", null));
+                    String category = categories[random.nextInt(categories.length)].name().toLowerCase();
+                    call("category-page", get("/v1/businesses/category/" + category, null));
+                } else if (roll < 65) {
+                    long businessId = businessIds.get(random.nextInt(businessIds.size()));
+                    call("business", get("/v1/businesses/" + businessId, null));
+                    call("business-items", get("/v1/businesses/" + businessId + "/items", null));
+                } else if (roll < 90) {
+                    long itemId = itemIds.get(random.nextInt(itemIds.size()));
+                    call("cart-add", json("POST", "/v1/cart/items", buyer.token(),
+                            Map.of("itemId", itemId, "quantity", 1)));
+                    if (random.nextInt(4) == 0) {
+                        call("cart-update", json("PATCH", "/v1/cart/items/" + itemId, buyer.token(),
+                                Map.of("itemId", itemId, "quantity", 1 + random.nextInt(5))));
+                    }
+                    call("cart", get("/v1/cart/me", buyer.token()));
+                } else if (roll < 95) {
+                    call("login", json("POST", "/v1/user/login", null,
+                            Map.of("email", buyer.email(), "password", PASSWORD)));
+                } else {
+                    Seller seller = sellers.get(random.nextInt(sellers.size()));
+                    call("item-create", multipart("/v1/items", seller.token(),
+                            Part.json("itemRequest", itemRequest(seller, "Item " + UUID.randomUUID())),
+                            Part.image("image", image)));
+                }
+            }
+        }
+
+        private void call(String operation, HttpRequest request) {
+            long started = System.nanoTime();
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            recorder.record(operation, System.nanoTime() - started, ok);
+        }
+    }
+
+    private static final class Recorder {
+
+        private final Map<String, long[]> latencies = new HashMap<>();
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final Map<String, Integer> errors = new HashMap<>();
+
+        void record(String operation, long latency, boolean ok) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, key -> new long[256]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = latency;
+            counts.put(operation, count + 1);
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+    }
+
+    private static final class Report {
+
+        private final Map<String, List<long[]>> latencies = new TreeMap<>();
+        private final Map<String, Integer> errors = new TreeMap<>();
+        private Duration elapsed;
+
+        void merge(Recorder recorder) {
+            recorder.counts.forEach((operation, count) -> latencies
+                    .computeIfAbsent(operation, key -> new ArrayList<>())
+                    .add(Arrays.copyOf(recorder.latencies.get(operation), count)));
+            recorder.errors.forEach((operation, count) -> errors.merge(operation, count, Integer::sum));
+        }
+
+        void print(long statements) {
+            double seconds = elapsed.toNanos() / 1e9;
+            long total = 0;
+            long totalErrors = 0;
+
+            System.out.printf("%n%d usuários virtuais, %ds medidos após %ds de aquecimento%n",
+                    CONCURRENCY, DURATION.toSeconds(), WARMUP.toSeconds());
+            System.out.printf("%-16s %9s %9s %9s %9s %9s %9s %7s%n",
+                    "operação", "total", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "erros");
+            for (Map.Entry<String, List<long[]>> entry : latencies.entrySet()) {
+                long[] sorted = entry.getValue().stream().flatMapToLong(Arrays::stream).sorted().toArray();
+                int failed = errors.getOrDefault(entry.getKey(), 0);
+                total += sorted.length;
+                totalErrors += failed;
+                System.out.printf("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", entry.getKey(), sorted.length,
+                        sorted.length / seconds, percentile(sorted, 50), percentile(sorted, 95),
+                        percentile(sorted, 99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, failed);
+            }
+            System.out.printf("%-16s %9d %9.1f %49d%n", "total", total, total / seconds, totalErrors);
+            System.out.printf("instruções SQL por requisição: %.2f%n", total == 0 ? 0 : (double) statements / total);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    private void register(String name, String email) throws Exception {
+        send(multipart("/v1/user/register", null,
+                Part.json("userRequest", Map.of("name", name, "email", email, "password", PASSWORD))));
+    }
+
+    private String login(String email) throws Exception {
+        HttpResponse<String> response = send(json("POST", "/v1/user/login", null,
+                Map.of("email", email, "password", PASSWORD)));
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private long createItem(Seller seller, String name) throws Exception {
+        HttpResponse<String> response = send(multipart("/v1/items", seller.token(),
+                Part.json("itemRequest", itemRequest(seller, name)), Part.image("image", image)));
+        JsonNode item = objectMapper.readTree(response.body());
+        return item.get("id").asLong();
+    }
+
+    private static Map<String, Object> itemRequest(Seller seller, String name) {
+        return Map.of(
+                "name", name,
+                "description", "Item criado pelo teste de carga.",
+                "price", 19.90,
+                "offerType", OfferType.values()[0].name(),
+                "businessId", seller.businessId());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " respondeu "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, String token, Object body) {
+        try {
+            return builder(path, token)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Part(String name, String filename, String contentType, byte[] content) {
+
+        static Part image(String name, byte[] content) {
+            return new Part(name, name + ".png", "image/png", content);
+        }
+
+        static Part json(String name, Object value) {
+            try {
+                return new Part(name, null, "application/json", new ObjectMapper().writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private HttpRequest multipart(String path, String token, Part... parts) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (Part part : parts) {
+            StringBuilder header = new StringBuilder()
+                    .append("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"").append(part.name()).append('"');
+            if (part.filename() != null) {
+                header.append("; filename=\"").append(part.filename()).append('"');
+            }
+            header.append("\r\nContent-Type: ").append(part.contentType()).append("\r\n\r\n");
+            body.writeBytes(header.toString().getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(part.content());
+            body.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return builder(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static byte[] pngImage() {
+        BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(new Color(0xF4A261));
+            graphics.fillRect(0, 0, 640, 480);
+            graphics.setColor(new Color(0x2A9D8F));
+            graphics.fillOval(160, 80, 320, 320);
+        } finally {
+            graphics.dispose();
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", bytes);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.elksandro.seunegocio.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.elksandro.seunegocio.model.Business;
+import com.elksandro.seunegocio.model.CartItem;
+import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.model.enums.Role;
+import com.elksandro.seunegocio.service.cart.DatabaseCartStore;
+import com.elksandro.seunegocio.service.exception.ItemNotFoundException;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase
+@ActiveProfiles("test")
+@Import({CartItemBatchRepository.class, DatabaseCartStore.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartItemBatchRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Autowired
+    private CartItemBatchRepository cartItemBatchRepository;
+
+    @Autowired
+    private DatabaseCartStore databaseCartStore;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private List<Item> items;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Comprador");
+        user.setEmail("comprador@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.SELLER);
+        user = userRepository.save(user);
+
+        Business business = new Business();
+        business.setName("Negócio");
+        business.setOwner(user);
+        business.setCategoryType(CategoryType.FOOD_DRINKS);
+        business = businessRepository.save(business);
+
+        items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Item item = new Item();
+            item.setName("Item " + i);
+            item.setPrice(10.0);
+            item.setOfferType(OfferType.PRODUCT);
+            item.setBusiness(business);
+            items.add(itemRepository.save(item));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll();
+        itemRepository.deleteAll();
+        businessRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentAddsToTheSameCartAreNeverLost() throws Exception {
+        run(THREADS, thread -> {
+            for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                Item item = items.get((thread + i) % items.size());
+                cartItemBatchRepository.addQuantity(user.getId(), item.getId(), 1);
+            }
+        });
+
+        List<CartItem> lines = cartItemRepository.findAll();
+        assertThat(lines).hasSize(items.size());
+        assertThat(lines.stream().mapToInt(CartItem::getQuantity).sum()).isEqualTo(THREADS * ADDS_PER_THREAD);
+        for (Item item : items) {
+            assertThat(quantityOf(item)).isEqualTo(expectedQuantity(item));
+        }
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrementsRemoveTheLineWhenTheyCancelOut() throws Exception {
+        Item item = items.get(0);
+        int initial = THREADS * ADDS_PER_THREAD;
+        cartItemBatchRepository.addQuantity(user.getId(), item.getId(), initial);
+
+        run(THREADS, thread -> {
+            int delta = thread % 2 == 0 ? 1 : -1;
+            for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                cartItemBatchRepository.addQuantity(user.getId(), item.getId(), delta);
+            }
+        });
+        assertThat(quantityOf(item)).isEqualTo(initial);
+
+        cartItemBatchRepository.addQuantity(user.getId(), item.getId(), -initial);
+        assertThat(cartItemRepository.findByUserIdAndItemId(user.getId(), item.getId())).isEmpty();
+    }
+
+    @Test
+    void addingAnUnknownItemIsReportedAsNotFound() {
+        assertThatThrownBy(() -> databaseCartStore.addQuantity(user.getId(), Long.MAX_VALUE, 1))
+                .isInstanceOf(ItemNotFoundException.class);
+    }
+
+    @Test
+    void addingPastTheQuantityLimitIsRejectedAndKeepsTheLine() {
+        Item item = items.get(0);
+        databaseCartStore.addQuantity(user.getId(), item.getId(), Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> databaseCartStore.addQuantity(user.getId(), item.getId(), 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(quantityOf(item)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    private int expectedQuantity(Item item) {
+        int index = items.indexOf(item);
+        int expected = 0;
+        for (int thread = 0; thread < THREADS; thread++) {
+            for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                if ((thread + i) % items.size() == index) {
+                    expected++;
+                }
+            }
+        }
+        return expected;
+    }
+
+    private int quantityOf(Item item) {
+        return cartItemRepository.findByUserIdAndItemId(user.getId(), item.getId())
+                .map(CartItem::getQuantity)
+                .orElse(0);
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void run(int threads, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int current = thread;
+                Callable<Void> task = () -> {
+                    start.await();
+                    worker.run(current);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
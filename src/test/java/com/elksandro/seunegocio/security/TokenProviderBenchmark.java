@@ -0,0 +1,71 @@
+package com.elksandro.seunegocio.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.service.CatalogFixtures;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * JWT signing and verification. {@code subjectCached} is the per-request path once a token has
+ * been seen; {@code subjectUncached} runs the HMAC verification and claim decoding every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private static final String SECRET = "jmh-benchmark-secret-with-enough-entropy";
+
+    private TokenProvider cachingProvider;
+    private TokenProvider uncachedProvider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = provider(10_000);
+        uncachedProvider = provider(0);
+        user = CatalogFixtures.owner(42);
+        token = cachingProvider.generateToken(user);
+    }
+
+    private static TokenProvider provider(long cacheSize) {
+        TokenProvider provider = new TokenProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "secret", SECRET);
+        ReflectionTestUtils.setField(provider, "tokenCacheMaximumSize", cacheSize);
+        provider.setUp();
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public String subjectCached() {
+        return cachingProvider.getSubjectByToken(token);
+    }
+
+    @Benchmark
+    public String subjectUncached() {
+        return uncachedProvider.getSubjectByToken(token);
+    }
+}
@@ -0,0 +1,142 @@
+package com.elksandro.seunegocio.service;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.mockito.Mockito;
+
+import com.elksandro.seunegocio.dto.business.BusinessResponse;
+import com.elksandro.seunegocio.model.Business;
+import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.model.User;
+import com.elksandro.seunegocio.model.enums.CategoryType;
+import com.elksandro.seunegocio.model.enums.MediaState;
+import com.elksandro.seunegocio.model.enums.OfferType;
+import com.elksandro.seunegocio.model.enums.Role;
+import com.elksandro.seunegocio.service.media.ImageVariant;
+import com.elksandro.seunegocio.service.storage.InMemoryObjectStorage;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+
+/**
+ * Entity graphs shaped like production rows (variant image keys, full-length descriptions) for
+ * benchmarks that exercise the response converters without a database.
+ */
+public final class CatalogFixtures {
+
+    private static final String DESCRIPTION = "Produtos artesanais feitos sob encomenda com ingredientes "
+            + "selecionados da região. Entregamos no bairro e aceitamos encomendas pelo WhatsApp.";
+
+    private CatalogFixtures() {
+    }
+
+    public static ObjectStorage objectStorage() {
+        return new InMemoryObjectStorage("https://media.seunegocio.com.br");
+    }
+
+    public static ItemService itemService(ObjectStorage objectStorage) {
+        return construct(ItemService.class, objectStorage);
+    }
+
+    public static BusinessService businessService(ObjectStorage objectStorage) {
+        return construct(BusinessService.class, objectStorage);
+    }
+
+    /**
+     * Calls the service's constructor with the given collaborators matched by type and a Mockito
+     * mock for every other parameter, so adding a dependency to a service does not break the
+     * fixtures. A collaborator the constructor no longer takes fails fast.
+     */
+    private static <T> T construct(Class<T> type, Object... collaborators) {
+        Constructor<?>[] constructors = type.getConstructors();
+        if (constructors.length != 1) {
+            throw new IllegalStateException(type.getSimpleName() + " deve ter um único construtor público.");
+        }
+
+        Class<?>[] parameterTypes = constructors[0].getParameterTypes();
+        Object[] arguments = new Object[parameterTypes.length];
+        for (Object collaborator : collaborators) {
+            int index = indexOf(parameterTypes, collaborator);
+            if (index < 0) {
+                throw new IllegalStateException(type.getSimpleName() + " não recebe "
+                        + collaborator.getClass().getSimpleName() + ".");
+            }
+            arguments[index] = collaborator;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] == null) {
+                arguments[i] = Mockito.mock(parameterTypes[i]);
+            }
+        }
+
+        try {
+            return type.cast(constructors[0].newInstance(arguments));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar " + type.getSimpleName() + ".", e);
+        }
+    }
+
+    private static int indexOf(Class<?>[] parameterTypes, Object collaborator) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isInstance(collaborator)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String imageKey() {
+        return ImageVariant.KEY_PREFIX + UUID.randomUUID();
+    }
+
+    public static User owner(long id) {
+        User owner = new User();
+        owner.setId(id);
+        owner.setName("Maria Aparecida dos Santos");
+        owner.setEmail("maria" + id + "@seunegocio.com.br");
+        owner.setWhatsapp("+55 81 99876-5432");
+        owner.setProfilePictureKey(imageKey());
+        owner.setProfilePictureState(MediaState.READY);
+        owner.setRole(Role.SELLER);
+        return owner;
+    }
+
+    public static Business business(long id) {
+        Business business = new Business();
+        business.setId(id);
+        business.setName("Doces da Maria " + id);
+        business.setDescription(DESCRIPTION);
+        business.setAddress("Rua da Aurora, " + id + ", Boa Vista, Recife - PE");
+        business.setLatitude(-8.0631);
+        business.setLongitude(-34.8711);
+        business.setLogoKey(imageKey());
+        business.setLogoState(MediaState.READY);
+        business.setCategoryType(CategoryType.values()[(int) (id % CategoryType.values().length)]);
+        business.setOwner(owner(id));
+        return business;
+    }
+
+    public static Item item(long id, Business business) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Bolo de rolo tradicional " + id);
+        item.setDescription(DESCRIPTION);
+        item.setPrice(39.90);
+        item.setOfferType(OfferType.values()[0]);
+        item.setImageKey(imageKey());
+        item.setImageState(MediaState.READY);
+        item.setBusiness(business);
+        return item;
+    }
+
+    public static List<BusinessResponse> businessResponses(int count) {
+        BusinessService businessService = businessService(objectStorage());
+
+        List<BusinessResponse> responses = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            responses.add(businessService.convertToResponse(business(i)));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,45 @@
+package com.elksandro.seunegocio.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The registration e-mail check in {@link UserService}, against a typical address, an invalid one
+ * and a long local part that makes the pattern backtrack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    @Param({ "maria.santos@seunegocio.com.br", "maria.santos@", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@b" })
+    public String email;
+
+    private Pattern pattern;
+
+    @Setup
+    public void setUp() {
+        pattern = (Pattern) ReflectionTestUtils.getField(UserService.class, "EMAIL_PATTERN");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return pattern.matcher(email).matches();
+    }
+}
@@ -0,0 +1,66 @@
+package com.elksandro.seunegocio.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.elksandro.seunegocio.dto.business.BusinessResponse;
+import com.elksandro.seunegocio.dto.item.ItemResponse;
+import com.elksandro.seunegocio.model.Business;
+import com.elksandro.seunegocio.model.Item;
+import com.elksandro.seunegocio.service.media.ImageVariant;
+import com.elksandro.seunegocio.service.storage.ObjectStorage;
+
+/**
+ * Entity-to-response conversion for items and businesses, including the media URL building every
+ * conversion does once per image variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseConversionBenchmark {
+
+    private ObjectStorage objectStorage;
+    private ItemService itemService;
+    private BusinessService businessService;
+    private Business business;
+    private Item item;
+    private String objectName;
+
+    @Setup
+    public void setUp() {
+        objectStorage = CatalogFixtures.objectStorage();
+        itemService = CatalogFixtures.itemService(objectStorage);
+        businessService = CatalogFixtures.businessService(objectStorage);
+        business = CatalogFixtures.business(42);
+        item = CatalogFixtures.item(4242, business);
+        objectName = ImageVariant.CARD.objectName(CatalogFixtures.imageKey());
+    }
+
+    @Benchmark
+    public ItemResponse itemToResponse() {
+        return itemService.convertToResponse(item);
+    }
+
+    @Benchmark
+    public BusinessResponse businessToResponse() {
+        return businessService.convertToResponse(business);
+    }
+
+    @Benchmark
+    public String objectUrl() {
+        return objectStorage.getObjectUrl(objectName);
+    }
+}
@@ -0,0 +1,24 @@
+package com.elksandro.seunegocio.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails the test unless every HTTP request it makes through {@code MockMvc} runs exactly this
+ * many SQL statements. Statements the test itself runs, such as seeding data, are not counted.
+ * Combined with a parameterized dataset size, it pins an endpoint's query count so an N+1
+ * regression fails the build instead of showing up in production.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryCountExtension.class)
+public @interface ExpectedQueries {
+
+    int value();
+}
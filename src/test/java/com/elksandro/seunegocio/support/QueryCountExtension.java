@@ -0,0 +1,45 @@
+package com.elksandro.seunegocio.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.elksandro.seunegocio.service.diagnostics.QueryCounter;
+
+/**
+ * Opens a {@link QueryCounter} scope around the test method body. Each request handled while it
+ * is open reports its own count to it through the query budget interceptor, so the counts can be
+ * checked per request. Requests must run on the test thread, as {@code MockMvc} does.
+ */
+class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryCountExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter queryCounter = SpringExtension.getApplicationContext(context).getBean(QueryCounter.class);
+        context.getStore(NAMESPACE).put(context.getUniqueId(), queryCounter.open());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCounter.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCounter.Scope.class);
+        scope.close();
+
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        int expected = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), ExpectedQueries.class)
+                .orElseThrow()
+                .value();
+        assertThat(scope.nested())
+                .as("consultas SQL por requisição")
+                .isNotEmpty()
+                .containsOnly(expected);
+    }
+}